@@ -1,13 +1,13 @@
 package geometries;
 
+import primitives.Double3;
 import primitives.Util;
 import primitives.Vector;
 import primitives.Point;
 import primitives.Ray;
 
-import java.util.List;
-
 import static primitives.Util.alignZero;
+import static primitives.Util.isZero;
 
 /**
  * Class Cylinder is the class representing a cylinder in the 3D space.
@@ -15,6 +15,21 @@ import static primitives.Util.alignZero;
 public class Cylinder extends Tube {
     private final double height;
 
+    /**
+     * Relative accuracy of the distance from the axis that tells the lateral surface from the bases.
+     */
+    private static final double RIM_ACCURACY = 1e-9;
+
+    /**
+     * The center of the bounding sphere - the middle of the axis segment.
+     */
+    private final double centerX, centerY, centerZ;
+
+    /**
+     * The squared radius of the bounding sphere.
+     */
+    private final double boundRadiusSquared;
+
     /**
      * Constructor for the Cylinder class receiving a radius, an axis, and a height.
      *
@@ -29,6 +44,13 @@ public class Cylinder extends Tube {
             throw new IllegalArgumentException("Height must be greater than 0");
         }
         this.height = height;
+
+        Double3 head = axis.getHead().getXYZ();
+        Double3 direction = axis.getDirection().getXYZ();
+        centerX = head.getD1() + direction.getD1() * height / 2;
+        centerY = head.getD2() + direction.getD2() * height / 2;
+        centerZ = head.getD3() + direction.getD3() * height / 2;
+        boundRadiusSquared = radius * radius + height * height / 4;
     }
 
     @Override
@@ -64,6 +86,12 @@ public class Cylinder extends Tube {
         if (Util.isZero(t - this.height)) // If the point is on the top of the cylinder
             return direction;
 
+        // A point strictly inside the rim is on one of the bases, even when rounding errors of the
+        // intersection calculation put its projection slightly off the end of the axis
+        double radiusSquared = this.radius * this.radius;
+        if (sub.lengthSquared() - t * t < radiusSquared * (1 - RIM_ACCURACY))
+            return direction;
+
         Point o; // The point on the axis
         Vector normal; // The normal vector to the cylinder
         try {
@@ -75,4 +103,70 @@ public class Cylinder extends Tube {
 
         return normal;
     }
-}
\ No newline at end of file
+
+    /**
+     * Finds the nearest intersection with the lateral surface between the bases or with the bases themselves.
+     * Rays that miss the bounding sphere of the cylinder are rejected before any of these calculations.
+     */
+    @Override
+    protected double findDistance(Ray ray, double maxDistance, double after) {
+        if (missesBoundingSphere(ray, maxDistance))
+            return Double.POSITIVE_INFINITY;
+
+        double nearest = super.findDistance(ray, maxDistance, after);
+        Double3 p0 = ray.getHead().getXYZ();
+        Double3 v = ray.getDirection().getXYZ();
+        Double3 pa = axis.getHead().getXYZ();
+        Double3 d = axis.getDirection().getXYZ();
+        double vd = v.getD1() * d.getD1() + v.getD2() * d.getD2() + v.getD3() * d.getD3();
+        if (isZero(vd)) // The ray is parallel to the bases
+            return nearest;
+
+        // dp = p0 - pa, the vector from the head of the axis to the head of the ray
+        double dpx = p0.getD1() - pa.getD1();
+        double dpy = p0.getD2() - pa.getD2();
+        double dpz = p0.getD3() - pa.getD3();
+        double dpd = dpx * d.getD1() + dpy * d.getD2() + dpz * d.getD3();
+
+        for (int i = 0; i < 2; ++i) { // The lower base and the upper base
+            double axial = i * height;
+            double t = alignZero((axial - dpd) / vd);
+            if (t <= after || t >= nearest || alignZero(t - maxDistance) > 0)
+                continue;
+            // The vector from the head of the axis to the intersection with the base's plane
+            double qx = dpx + t * v.getD1();
+            double qy = dpy + t * v.getD2();
+            double qz = dpz + t * v.getD3();
+            if (alignZero(qx * qx + qy * qy + qz * qz - axial * axial - radius * radius) < 0)
+                nearest = t;
+        }
+        return nearest;
+    }
+
+    @Override
+    protected boolean isWithinBounds(double axial) {
+        return alignZero(axial) > 0 && alignZero(axial - height) < 0;
+    }
+
+    /**
+     * Cheap rejection test against the bounding sphere of the cylinder.
+     *
+     * @param ray         the ray to test.
+     * @param maxDistance the maximum distance to intersect with the cylinder.
+     * @return true if the ray certainly misses the cylinder, false if it may intersect it.
+     */
+    private boolean missesBoundingSphere(Ray ray, double maxDistance) {
+        Double3 p0 = ray.getHead().getXYZ();
+        Double3 v = ray.getDirection().getXYZ();
+        // u = center - p0
+        double ux = centerX - p0.getD1();
+        double uy = centerY - p0.getD2();
+        double uz = centerZ - p0.getD3();
+        double tm = ux * v.getD1() + uy * v.getD2() + uz * v.getD3();
+        double th2 = boundRadiusSquared - (ux * ux + uy * uy + uz * uz - tm * tm);
+        if (th2 <= 0) // The ray's line passes outside the bounding sphere
+            return true;
+        double th = Math.sqrt(th2);
+        return tm + th <= 0 || tm - th > maxDistance; // The bounding sphere is behind the ray or too far
+    }
+}
@@ -1,5 +1,6 @@
 package geometries;
 
+import primitives.Double3;
 import primitives.Point;
 import primitives.Ray;
 
@@ -55,4 +56,38 @@ public class Geometries extends Intersectable {
 
         return intersections; // Return the list of intersections.
     }
-}
\ No newline at end of file
+
+    @Override
+    protected boolean findClosestHitHelper(Ray ray, Hit hit) {
+        boolean found = false;
+        for (Intersectable item : this.intersections) // Each geometry narrows the hit distance for the next ones
+            if (item.findClosestHit(ray, hit))
+                found = true;
+        return found;
+    }
+
+    @Override
+    protected void findClosestHitsHelper(RayBatch batch) {
+        for (Intersectable item : this.intersections) // One dispatch per geometry for the whole batch
+            item.findClosestHits(batch);
+    }
+
+    @Override
+    protected Double3 findTransparencyHelper(Ray ray, double maxDistance, Double3 ktr, double minK, Hit hit) {
+        // First pass - opaque geometries, a single hit blocks the ray
+        for (Intersectable item : this.intersections)
+            if (item.isOpaque() && item.findTransparency(ray, maxDistance, ktr, minK, hit).lowerThan(minK))
+                return Double3.ZERO;
+
+        // Second pass - accumulate the transparency of the rest of the geometries
+        for (Intersectable item : this.intersections) {
+            if (item.isOpaque()) // Already tested in the first pass
+                continue;
+            ktr = item.findTransparency(ray, maxDistance, ktr, minK, hit);
+            if (ktr.lowerThan(minK))
+                return Double3.ZERO;
+        }
+
+        return ktr;
+    }
+}
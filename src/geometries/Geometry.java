@@ -54,4 +54,64 @@ public abstract class Geometry extends Intersectable {
         this.material = material;
         return this;
     }
-}
\ No newline at end of file
+
+    /**
+     * Getter for the normal at a point of a primitive within this geometry.
+     * Compact geometries that hold many primitives give the normal of the primitive of the index,
+     * without materializing it.
+     *
+     * @param point the point on the primitive.
+     * @param index the index of the primitive, as written to the hit record.
+     * @return the normal - the normal of this geometry at the point by default.
+     */
+    protected Vector getNormal(Point point, int index) {
+        return getNormal(point);
+    }
+
+    /**
+     * Getter for the material of a primitive within this geometry.
+     *
+     * @param index the index of the primitive, as written to the hit record.
+     * @return the material - the material of this geometry by default.
+     */
+    protected Material getMaterial(int index) {
+        return getMaterial();
+    }
+
+    /**
+     * Getter for the emission of a primitive within this geometry.
+     *
+     * @param index the index of the primitive, as written to the hit record.
+     * @return the color of the emission - the emission of this geometry by default.
+     */
+    protected Color getEmission(int index) {
+        return getEmission();
+    }
+
+    /**
+     * Looks for a hit of a single primitive within this geometry, closer than the distance in the hit record.
+     * Compact geometries that hold many primitives test only the primitive of the index, by their own kernel,
+     * so a hit recorded earlier can be tested again without materializing its primitive.
+     *
+     * @param ray   the ray.
+     * @param index the index of the primitive, as written to the hit record.
+     * @param hit   the hit record, updated if the primitive is hit closer.
+     * @return true if the primitive is hit closer, false otherwise - the closest hit of this geometry by default.
+     */
+    public boolean findPrimitiveHit(Ray ray, int index, Hit hit) {
+        return findClosestHitHelper(ray, hit);
+    }
+
+    @Override
+    protected boolean isOpaque() {
+        return material.kT.equals(Double3.ZERO);
+    }
+
+    @Override
+    protected Double3 findTransparencyHelper(Ray ray, double maxDistance, Double3 ktr, double minK, Hit hit) {
+        if (!isOpaque())
+            return super.findTransparencyHelper(ray, maxDistance, ktr, minK, hit);
+        // Any hit of an opaque geometry blocks the ray, no need to go over the intersections
+        return findClosestHitHelper(ray, hit.reset(maxDistance)) ? Double3.ZERO : ktr;
+    }
+}
@@ -1,7 +1,11 @@
 package geometries;
 
+import primitives.Color;
+import primitives.Double3;
+import primitives.Material;
 import primitives.Point;
 import primitives.Ray;
+import primitives.Vector;
 
 import java.util.List;
 import java.util.Objects;
@@ -13,6 +17,7 @@ import java.util.stream.Collectors;
 public abstract class Intersectable {
     /**
      * Class GeoPoint is a wrapper class for a point and the geometry it belongs to.
+     * For a compact geometry that holds many primitives, the primitive is given by its index.
      */
     public static class GeoPoint {
         /**
@@ -25,6 +30,11 @@ public abstract class Intersectable {
          */
         public Point point;
 
+        /**
+         * The index of the primitive within the geometry, 0 for a single geometry.
+         */
+        public int index;
+
         /**
          * Constructor for the GeoPoint class receiving a geometry and a point.
          *
@@ -32,15 +42,55 @@ public abstract class Intersectable {
          * @param point    the point.
          */
         public GeoPoint(Geometry geometry, Point point) {
+            this(geometry, point, 0);
+        }
+
+        /**
+         * Constructor for the GeoPoint class receiving a geometry, a point and the index of the primitive.
+         *
+         * @param geometry the geometry.
+         * @param point    the point.
+         * @param index    the index of the primitive within the geometry.
+         */
+        public GeoPoint(Geometry geometry, Point point, int index) {
             this.geometry = geometry;
             this.point = point;
+            this.index = index;
+        }
+
+        /**
+         * Getter for the normal of the primitive at the point.
+         *
+         * @return the normal.
+         */
+        public Vector getNormal() {
+            return geometry.getNormal(point, index);
+        }
+
+        /**
+         * Getter for the material of the primitive.
+         *
+         * @return the material.
+         */
+        public Material getMaterial() {
+            return geometry.getMaterial(index);
+        }
+
+        /**
+         * Getter for the emission of the primitive.
+         *
+         * @return the color of the emission.
+         */
+        public Color getEmission() {
+            return geometry.getEmission(index);
         }
 
         @Override
         public boolean equals(Object o) {
             if (this == o) return true;
             if (!(o instanceof GeoPoint geoPoint)) return false;
-            return Objects.equals(geometry, geoPoint.geometry) && Objects.equals(point, geoPoint.point);
+            return Objects.equals(geometry, geoPoint.geometry) && Objects.equals(point, geoPoint.point)
+                    && index == geoPoint.index;
         }
 
         @Override
@@ -48,6 +98,162 @@ public abstract class Intersectable {
             return "GeoPoint{" +
                     "geometry=" + geometry +
                     ", point=" + point +
+                    ", index=" + index +
+                    '}';
+        }
+    }
+
+    /**
+     * Class Hit is a reusable, mutable record of the closest intersection found so far along a ray.
+     * The kernels write the parametric distance directly into it, and the intersection point is
+     * materialized only when it is needed for shading.
+     */
+    public static class Hit {
+        /**
+         * The parametric distance of the hit along the ray - also the maximum distance for the next hit.
+         */
+        public double t;
+
+        /**
+         * The hit geometry, null if nothing was hit.
+         */
+        public Geometry geometry;
+
+        /**
+         * The index of the hit primitive or face within the geometry.
+         */
+        public int index;
+
+        /**
+         * The placement of the hit geometry, when the hit geometry is wrapped by a {@link Transformed} - then the
+         * geometry is in the object space of the placement, and is placed into world space only when the hit is
+         * materialized. null if the hit geometry is in world space.
+         */
+        public Transformed placement;
+
+        /**
+         * The first surface (barycentric) coordinate of the hit, where the kernel provides it.
+         */
+        public double u;
+
+        /**
+         * The second surface (barycentric) coordinate of the hit, where the kernel provides it.
+         */
+        public double v;
+
+        /**
+         * Default constructor - an empty record with no distance limit.
+         */
+        public Hit() {
+            reset(Double.POSITIVE_INFINITY);
+        }
+
+        /**
+         * Clears the record before a new query.
+         *
+         * @param maxDistance the maximum distance to look for a hit.
+         * @return this.
+         */
+        public Hit reset(double maxDistance) {
+            this.t = maxDistance;
+            this.geometry = null;
+            this.index = -1;
+            this.placement = null;
+            return this;
+        }
+
+        /**
+         * Records a new closest hit.
+         *
+         * @param t        the parametric distance of the hit along the ray.
+         * @param geometry the hit geometry.
+         * @param index    the index of the hit primitive or face within the geometry.
+         * @return true, for the convenience of the kernels.
+         */
+        public boolean set(double t, Geometry geometry, int index) {
+            return set(t, geometry, index, null);
+        }
+
+        /**
+         * Records a new closest hit of a placed geometry.
+         *
+         * @param t         the parametric distance of the hit along the ray.
+         * @param geometry  the hit geometry, in the object space of the placement.
+         * @param index     the index of the hit primitive or face within the geometry.
+         * @param placement the placement of the geometry, null if the geometry is in world space.
+         * @return true, for the convenience of the kernels.
+         */
+        public boolean set(double t, Geometry geometry, int index, Transformed placement) {
+            this.t = t;
+            this.geometry = geometry;
+            this.index = index;
+            this.placement = placement;
+            return true;
+        }
+
+        /**
+         * Copies another hit record.
+         *
+         * @param other the hit record to copy.
+         * @return this.
+         */
+        public Hit set(Hit other) {
+            set(other.t, other.geometry, other.index, other.placement);
+            this.u = other.u;
+            this.v = other.v;
+            return this;
+        }
+
+        /**
+         * Materializes the hit geometry in world space - the hit geometry itself, or its placement.
+         *
+         * @return the hit geometry in world space, or null if nothing was hit.
+         */
+        public Geometry getGeometry() {
+            return placement == null ? geometry : placement.place(geometry);
+        }
+
+        /**
+         * Looks for a hit of the primitive of this record along another ray, closer than the distance in
+         * the other hit record - the primitive is tested alone, through its placement, without materializing it.
+         *
+         * @param ray the ray.
+         * @param hit the hit record of the ray, updated if the primitive is hit closer.
+         * @return true if the primitive is hit closer, false otherwise.
+         */
+        public boolean findPrimitiveHit(Ray ray, Hit hit) {
+            return placement == null ? geometry.findPrimitiveHit(ray, index, hit)
+                    : placement.findPrimitiveHit(ray, geometry, index, hit);
+        }
+
+        /**
+         * Materializes the hit point.
+         *
+         * @param ray the ray that produced the hit.
+         * @return the hit point.
+         */
+        public Point getPoint(Ray ray) {
+            return ray.getPoint(t);
+        }
+
+        /**
+         * Materializes the hit as a GeoPoint for shading. The hit primitive of a compact geometry
+         * is given by its index, and isn't materialized - only a placed geometry is placed into world space.
+         *
+         * @param ray the ray that produced the hit.
+         * @return the GeoPoint of the hit, or null if nothing was hit.
+         */
+        public GeoPoint toGeoPoint(Ray ray) {
+            return geometry == null ? null : new GeoPoint(getGeometry(), getPoint(ray), index);
+        }
+
+        @Override
+        public String toString() {
+            return "Hit{" +
+                    "t=" + t +
+                    ", geometry=" + geometry +
+                    ", index=" + index +
+                    ", placement=" + placement +
                     '}';
         }
     }
@@ -83,7 +289,13 @@ public abstract class Intersectable {
      * @return a list of GeoPoints.
      */
     public final List<GeoPoint> findGeoIntersections(Ray ray, double maxDistance) {
-        return findGeoIntersectionsHelper(ray, maxDistance);
+        if (!IntersectionProfiler.ENABLED)
+            return findGeoIntersectionsHelper(ray, maxDistance);
+
+        long start = System.nanoTime();
+        List<GeoPoint> intersections = findGeoIntersectionsHelper(ray, maxDistance);
+        IntersectionProfiler.record(this, 1, intersections == null ? 0 : 1, System.nanoTime() - start);
+        return intersections;
     }
 
     /**
@@ -94,4 +306,163 @@ public abstract class Intersectable {
      * @return a list of GeoPoints.
      */
     protected abstract List<GeoPoint> findGeoIntersectionsHelper(Ray ray, double maxDistance);
-}
\ No newline at end of file
+
+    /**
+     * Finds the closest intersection of the ray that is nearer than the distance already in the hit record,
+     * and writes it into the record.
+     *
+     * @param ray the ray to intersect with the object.
+     * @param hit the hit record, its distance is the maximum distance to look for a hit.
+     * @return true if a closer hit was found, false otherwise.
+     */
+    public final boolean findClosestHit(Ray ray, Hit hit) {
+        if (!IntersectionProfiler.ENABLED)
+            return findClosestHitHelper(ray, hit);
+
+        long start = System.nanoTime();
+        boolean found = findClosestHitHelper(ray, hit);
+        IntersectionProfiler.record(this, 1, found ? 1 : 0, System.nanoTime() - start);
+        return found;
+    }
+
+    /**
+     * Closest-hit kernel. The default implementation goes through the list of intersections,
+     * geometries override it with an allocation-free computation.
+     *
+     * @param ray the ray to intersect with the object.
+     * @param hit the hit record, its distance is the maximum distance to look for a hit.
+     * @return true if a closer hit was found, false otherwise.
+     */
+    protected boolean findClosestHitHelper(Ray ray, Hit hit) {
+        List<GeoPoint> intersections = findGeoIntersectionsHelper(ray, hit.t);
+        if (intersections == null)
+            return false;
+
+        Point head = ray.getHead();
+        boolean found = false;
+        for (GeoPoint gp : intersections) {
+            double t = gp.point.distance(head); // The ray direction is normalized
+            if (t < hit.t)
+                found = hit.set(t, gp.geometry, gp.index);
+        }
+        return found;
+    }
+
+    /**
+     * Finds the closest hit of each ray in the batch that is nearer than the ray's distance in the batch,
+     * and writes it into the batch.
+     *
+     * @param batch the batch of rays.
+     */
+    public final void findClosestHits(RayBatch batch) {
+        if (!IntersectionProfiler.ENABLED) {
+            findClosestHitsHelper(batch);
+            return;
+        }
+
+        double[] before = batch.t.clone();
+        long start = System.nanoTime();
+        findClosestHitsHelper(batch);
+        long nanos = System.nanoTime() - start;
+        int hits = 0;
+        for (int i = 0; i < batch.size(); ++i)
+            if (batch.t[i] < before[i])
+                ++hits;
+        IntersectionProfiler.record(this, batch.size(), hits, nanos);
+    }
+
+    /**
+     * Batch closest-hit kernel. The default implementation materializes each ray and goes through the
+     * single ray kernel, geometries override it with a loop over the primitive arrays of the batch.
+     *
+     * @param batch the batch of rays.
+     */
+    protected void findClosestHitsHelper(RayBatch batch) {
+        Hit hit = new Hit();
+        for (int i = 0; i < batch.size(); ++i)
+            if (findClosestHitHelper(batch.getRay(i), hit.reset(batch.t[i]))) // A placed geometry is materialized
+                batch.set(i, hit.t, hit.getGeometry(), hit.index);
+    }
+
+    /**
+     * Any-hit occlusion query for shadow rays. Accumulates the transparency (kT) of the geometries
+     * blocking the ray up to the given distance and stops as soon as it drops below the given threshold.
+     *
+     * @param ray         the shadow ray.
+     * @param maxDistance the maximum distance to look for blocking geometries.
+     * @param minK        the transparency below which the ray is considered fully blocked.
+     * @return the accumulated transparency, or {@link Double3#ZERO} if the ray is blocked.
+     */
+    public final Double3 findTransparency(Ray ray, double maxDistance, double minK) {
+        return findTransparency(ray, maxDistance, minK, new Hit());
+    }
+
+    /**
+     * Any-hit occlusion query for shadow rays, using a caller-owned scratch hit record.
+     *
+     * @param ray         the shadow ray.
+     * @param maxDistance the maximum distance to look for blocking geometries.
+     * @param minK        the transparency below which the ray is considered fully blocked.
+     * @param hit         scratch hit record for the opaque geometries tests.
+     * @return the accumulated transparency, or {@link Double3#ZERO} if the ray is blocked.
+     */
+    public final Double3 findTransparency(Ray ray, double maxDistance, double minK, Hit hit) {
+        return findTransparency(ray, maxDistance, Double3.ONE, minK, hit);
+    }
+
+    /**
+     * Accumulates the transparency of this object's intersections with the ray into the given transparency.
+     * It is the entry of the occlusion query into each object, for the containers to call on their members.
+     *
+     * @param ray         the shadow ray.
+     * @param maxDistance the maximum distance to look for blocking geometries.
+     * @param ktr         the transparency accumulated so far.
+     * @param minK        the transparency below which the ray is considered fully blocked.
+     * @param hit         scratch hit record for the opaque geometries tests.
+     * @return the accumulated transparency, or {@link Double3#ZERO} if the ray is blocked.
+     */
+    final Double3 findTransparency(Ray ray, double maxDistance, Double3 ktr, double minK, Hit hit) {
+        if (!IntersectionProfiler.ENABLED)
+            return findTransparencyHelper(ray, maxDistance, ktr, minK, hit);
+
+        long start = System.nanoTime();
+        Double3 result = findTransparencyHelper(ray, maxDistance, ktr, minK, hit);
+        IntersectionProfiler.recordAnyHit(this, 1, result.equals(ktr) ? 0 : 1, System.nanoTime() - start);
+        return result;
+    }
+
+    /**
+     * Accumulates the transparency of this object's intersections with the ray into the given transparency.
+     * The default implementation goes over all the intersection points, subclasses may override it
+     * with a cheaper test.
+     *
+     * @param ray         the shadow ray.
+     * @param maxDistance the maximum distance to look for blocking geometries.
+     * @param ktr         the transparency accumulated so far.
+     * @param minK        the transparency below which the ray is considered fully blocked.
+     * @param hit         scratch hit record for the opaque geometries tests.
+     * @return the accumulated transparency, or {@link Double3#ZERO} if the ray is blocked.
+     */
+    protected Double3 findTransparencyHelper(Ray ray, double maxDistance, Double3 ktr, double minK, Hit hit) {
+        List<GeoPoint> intersections = findGeoIntersections(ray, maxDistance);
+        if (intersections == null) // Nothing blocks the ray
+            return ktr;
+
+        for (GeoPoint gp : intersections) {
+            ktr = ktr.product(gp.getMaterial().kT);
+            if (ktr.lowerThan(minK)) // Early termination - the ray is blocked
+                return Double3.ZERO;
+        }
+        return ktr;
+    }
+
+    /**
+     * Checks whether any intersection with this object blocks a shadow ray completely.
+     * Such objects are tested first by the occlusion query, since a single hit ends it.
+     *
+     * @return true if this object is fully opaque, false otherwise.
+     */
+    protected boolean isOpaque() {
+        return false;
+    }
+}
@@ -0,0 +1,202 @@
+package geometries;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Optional instrumentation of the intersection queries. Counts the intersection tests, the hits and the
+ * time spent per concrete Intersectable class, and per Geometries node (inclusive of its members), separately
+ * for the closest-hit queries and for the any-hit (occlusion) queries of the shadow rays,
+ * and the lookups of named query caches of the renderer.
+ * <p>
+ * The instrumentation is enabled by running with {@code -Draytracer.profile=true}. Since the flag is a
+ * compile-time constant for the JIT, the disabled instrumentation costs nothing in the intersection code.
+ * The counters are kept per thread and aggregated by {@link #summary()}.
+ */
+public final class IntersectionProfiler {
+    /**
+     * Whether the instrumentation is enabled.
+     */
+    public static final boolean ENABLED = Boolean.getBoolean("raytracer.profile");
+
+    /**
+     * Index of the tests counter.
+     */
+    private static final int TESTS = 0;
+
+    /**
+     * Index of the hits counter.
+     */
+    private static final int HITS = 1;
+
+    /**
+     * Index of the nanoseconds counter.
+     */
+    private static final int NANOS = 2;
+
+    /**
+     * Offset of the any-hit query counters, after the closest-hit query (or cache lookup) counters.
+     */
+    private static final int ANY_HIT = 3;
+
+    /**
+     * The number of the counters per key.
+     */
+    private static final int COUNTERS_SIZE = 6;
+
+    /**
+     * The counters of all the threads, for the aggregation.
+     */
+    private static final Queue<Map<Object, long[]>> ALL_COUNTERS = new ConcurrentLinkedQueue<>();
+
+    /**
+     * The counters of the current thread, per Intersectable class or Geometries node.
+     */
+    private static final ThreadLocal<Map<Object, long[]>> COUNTERS = ThreadLocal.withInitial(() -> {
+        Map<Object, long[]> counters = new IdentityHashMap<>();
+        ALL_COUNTERS.add(counters);
+        return counters;
+    });
+
+    /**
+     * A row of the summary table - the counters of a query of a key.
+     *
+     * @param key    the key of the counters.
+     * @param query  the name of the query.
+     * @param values the aggregated counters of the key.
+     * @param offset the offset of the counters of the query.
+     */
+    private record Row(Object key, String query, long[] values, int offset) {
+        /**
+         * Getter for a counter of the query.
+         *
+         * @param counter the index of the counter.
+         * @return the counter.
+         */
+        long get(int counter) {
+            return values[offset + counter];
+        }
+    }
+
+    /**
+     * logger for reporting the aggregated counters
+     */
+    private static final Logger logger = Logger.getLogger("IntersectionProfiler");
+
+    /**
+     * Don't let anyone instantiate this class.
+     */
+    private IntersectionProfiler() {
+    }
+
+    /**
+     * Records intersection tests in the counters of the current thread.
+     *
+     * @param item  the tested object.
+     * @param tests the number of tests (rays).
+     * @param hits  the number of tests that found a hit.
+     * @param nanos the time spent in the tests.
+     */
+    static void record(Intersectable item, long tests, long hits, long nanos) {
+        add(item instanceof Geometries ? item : item.getClass(), 0, tests, hits, nanos);
+    }
+
+    /**
+     * Records any-hit (occlusion) tests in the counters of the current thread.
+     *
+     * @param item    the tested object.
+     * @param tests   the number of tests (rays).
+     * @param blocked the number of tests that found a blocking or attenuating intersection.
+     * @param nanos   the time spent in the tests.
+     */
+    static void recordAnyHit(Intersectable item, long tests, long blocked, long nanos) {
+        add(item instanceof Geometries ? item : item.getClass(), ANY_HIT, tests, blocked, nanos);
+    }
+
+    /**
+     * Records lookups of a named query cache in the counters of the current thread.
+     *
+     * @param name  the name of the cache - a constant, the counters are kept per name instance.
+     * @param tests the number of lookups.
+     * @param hits  the number of lookups that the cache answered.
+     * @param nanos the time spent in the lookups.
+     */
+    public static void recordCache(String name, long tests, long hits, long nanos) {
+        add(name, 0, tests, hits, nanos);
+    }
+
+    /**
+     * Adds to the counters of a key in the current thread.
+     *
+     * @param key    the key of the counters.
+     * @param offset the offset of the counters of the query.
+     * @param tests  the number of tests.
+     * @param hits   the number of hits.
+     * @param nanos  the time spent.
+     */
+    private static void add(Object key, int offset, long tests, long hits, long nanos) {
+        long[] counters = COUNTERS.get().computeIfAbsent(key, k -> new long[COUNTERS_SIZE]);
+        counters[offset + TESTS] += tests;
+        counters[offset + HITS] += hits;
+        counters[offset + NANOS] += nanos;
+    }
+
+    /**
+     * Clears the counters of all the threads. Must not run concurrently with a render.
+     */
+    public static void reset() {
+        for (Map<Object, long[]> counters : ALL_COUNTERS)
+            counters.clear();
+    }
+
+    /**
+     * Aggregates the counters of all the threads into a table, one row per key and query, sorted by the time spent.
+     * Must be called after the render threads are done.
+     *
+     * @return the table of the aggregated counters.
+     */
+    public static String summary() {
+        Map<Object, long[]> total = new IdentityHashMap<>();
+        for (Map<Object, long[]> counters : ALL_COUNTERS)
+            counters.forEach((key, values) -> {
+                long[] sum = total.computeIfAbsent(key, k -> new long[COUNTERS_SIZE]);
+                for (int i = 0; i < sum.length; ++i)
+                    sum[i] += values[i];
+            });
+
+        List<Row> rows = new ArrayList<>();
+        total.forEach((key, values) -> {
+            if (values[TESTS] > 0)
+                rows.add(new Row(key, key instanceof String ? "lookup" : "closest", values, 0));
+            if (values[ANY_HIT + TESTS] > 0)
+                rows.add(new Row(key, "any-hit", values, ANY_HIT));
+        });
+        rows.sort((r1, r2) -> Long.compare(r2.get(NANOS), r1.get(NANOS)));
+
+        StringBuilder table = new StringBuilder(String.format("%-28s %-8s %12s %12s %7s %10s %9s%n",
+                "intersectable", "query", "tests", "hits", "hit %", "ms", "ns/test"));
+        for (Row row : rows) {
+            long tests = row.get(TESTS), hits = row.get(HITS), nanos = row.get(NANOS);
+            String name = row.key instanceof Class<?> type ? type.getSimpleName()
+                    : row.key instanceof String cache ? cache
+                    : "Geometries#" + Integer.toHexString(System.identityHashCode(row.key));
+            table.append(String.format("%-28s %-8s %12d %12d %7.2f %10.2f %9.1f%n", name, row.query,
+                    tests, hits, 100.0 * hits / Math.max(tests, 1), nanos / 1e6, (double) nanos / Math.max(tests, 1)));
+        }
+        return table.toString();
+    }
+
+    /**
+     * Logs the aggregated counters of all the threads, if the instrumentation is enabled.
+     */
+    public static void report() {
+        if (ENABLED)
+            logger.log(Level.INFO, "Intersection profile:\n{0}", summary());
+    }
+}
@@ -1,5 +1,6 @@
 package geometries;
 
+import primitives.Double3;
 import primitives.Point;
 import primitives.Ray;
 import primitives.Util;
@@ -97,4 +98,53 @@ public class Plane extends Geometry {
         double t = alignZero(normal.dotProduct(sub) / nv);
         return t > 0 && alignZero(t - maxDistance) <= 0 ? List.of(new GeoPoint(this, ray.getPoint(t))) : null;
     }
-}
\ No newline at end of file
+
+    @Override
+    protected boolean findClosestHitHelper(Ray ray, Hit hit) {
+        double t = intersectionDistance(ray);
+        return t < hit.t && hit.set(t, this, 0);
+    }
+
+    @Override
+    protected void findClosestHitsHelper(RayBatch batch) {
+        Double3 n = this.normal.getXYZ();
+        Double3 q0 = this.q.getXYZ();
+        double nx = n.getD1(), ny = n.getD2(), nz = n.getD3();
+        double nq = nx * q0.getD1() + ny * q0.getD2() + nz * q0.getD3();
+        double[] ox = batch.ox, oy = batch.oy, oz = batch.oz;
+        double[] dx = batch.dx, dy = batch.dy, dz = batch.dz;
+        double[] tMax = batch.t;
+
+        for (int i = 0; i < batch.size(); ++i) {
+            double nv = nx * dx[i] + ny * dy[i] + nz * dz[i];
+            if (isZero(nv)) // The ray is parallel to the plane
+                continue;
+            double t = alignZero((nq - nx * ox[i] - ny * oy[i] - nz * oz[i]) / nv);
+            if (t > 0 && t < tMax[i])
+                batch.set(i, t, this, 0);
+        }
+    }
+
+    /**
+     * Allocation-free computation of the distance along the ray to the plane.
+     *
+     * @param ray the ray to intersect with the plane.
+     * @return the distance of the intersection, or {@link Double#POSITIVE_INFINITY} if there is none.
+     */
+    double intersectionDistance(Ray ray) {
+        Double3 p0 = ray.getHead().getXYZ();
+        Double3 v = ray.getDirection().getXYZ();
+        Double3 n = this.normal.getXYZ();
+        Double3 q0 = this.q.getXYZ();
+
+        double nv = n.getD1() * v.getD1() + n.getD2() * v.getD2() + n.getD3() * v.getD3();
+        if (isZero(nv)) // The ray is parallel to the plane.
+            return Double.POSITIVE_INFINITY;
+
+        double nQMinusP0 = n.getD1() * (q0.getD1() - p0.getD1())
+                + n.getD2() * (q0.getD2() - p0.getD2())
+                + n.getD3() * (q0.getD3() - p0.getD3());
+        double t = alignZero(nQMinusP0 / nv);
+        return t > 0 ? t : Double.POSITIVE_INFINITY;
+    }
+}
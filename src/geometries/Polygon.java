@@ -5,6 +5,7 @@ import java.util.List;
 import static primitives.Util.alignZero;
 import static primitives.Util.isZero;
 
+import primitives.Double3;
 import primitives.Point;
 import primitives.Ray;
 import primitives.Vector;
@@ -30,6 +31,23 @@ public class Polygon extends Geometry {
      */
     private final int size;
 
+    /**
+     * The minimal amount of vertices for which the intersection uses the fan triangulation
+     */
+    private static final int FAN_THRESHOLD = 8;
+
+    /**
+     * Inward normals of the edges in the polygon's plane with their offsets, 4 numbers (mx, my, mz, d) per edge
+     * from vertex i to vertex i+1. A point of the plane is inside the polygon iff m&#183;p &gt; d for all the edges.
+     */
+    private final double[] edges;
+
+    /**
+     * Inward normals of the fan diagonals from the first vertex to vertex i with their offsets, in the same
+     * layout as the edges. Only for polygons with at least {@link #FAN_THRESHOLD} vertices, null otherwise.
+     */
+    private final double[] fan;
+
     /**
      * Polygon constructor based on vertices list. The list must be ordered by edge
      * path. The polygon must be convex.
@@ -53,6 +71,19 @@ public class Polygon extends Geometry {
      *                                  </ul>
      */
     public Polygon(Point... vertices) {
+        this(true, vertices);
+    }
+
+    /**
+     * Polygon constructor for subclasses that may have their own intersection kernel
+     * and have no use for the precomputed edge data.
+     *
+     * @param precompute whether to precompute the edge data for the polygon's intersection kernel
+     * @param vertices   list of vertices according to their order by edge path
+     * @throws IllegalArgumentException in any case of illegal combination of vertices
+     * @see #Polygon(Point...)
+     */
+    protected Polygon(boolean precompute, Point... vertices) {
         if (vertices.length < 3)
             throw new IllegalArgumentException("A polygon can't have less than 3 vertices");
         this.vertices = List.of(vertices);
@@ -62,6 +93,8 @@ public class Polygon extends Geometry {
         // polygon with this plane.
         // The plane holds the invariant normal (orthogonal unit) vector to the polygon
         plane = new Plane(vertices[0], vertices[1], vertices[2]);
+        edges = precompute ? inwardNormals(vertices, false) : null;
+        fan = precompute && size >= FAN_THRESHOLD ? inwardNormals(vertices, true) : null;
         if (size == 3) return; // no need for more tests for a Triangle
 
         Vector n = plane.getNormal();
@@ -97,38 +130,126 @@ public class Polygon extends Geometry {
 
     @Override
     protected List<GeoPoint> findGeoIntersectionsHelper(Ray ray, double maxDistance) {
-        List<GeoPoint> intersections = plane.findGeoIntersections(ray, maxDistance);
+        Hit hit = new Hit();
+        return findClosestHitHelper(ray, hit) && alignZero(hit.t - maxDistance) <= 0
+                ? List.of(new GeoPoint(this, hit.getPoint(ray)))
+                : null;
+    }
 
-        if (intersections == null) // if the ray doesn't intersect the plane
-            return null;
+    /**
+     * Intersects the plane and tests the point against the precomputed edges, or by a binary search
+     * over the fan triangulation for large polygons - in which case the index of the hit fan triangle
+     * is written into the record.
+     */
+    @Override
+    protected boolean findClosestHitHelper(Ray ray, Hit hit) {
+        double t = plane.intersectionDistance(ray);
+        if (t >= hit.t) // No intersection with the plane, or not closer than the current hit
+            return false;
+
+        Double3 p0 = ray.getHead().getXYZ();
+        Double3 v = ray.getDirection().getXYZ();
+        double x = p0.getD1() + t * v.getD1();
+        double y = p0.getD2() + t * v.getD2();
+        double z = p0.getD3() + t * v.getD3();
+
+        int face = fan == null ? insideEdges(x, y, z) : insideFan(x, y, z);
+        return face >= 0 && hit.set(t, this, face);
+    }
 
-        Point p0 = ray.getHead(); // p0 is the ray's head
-        Vector v0 = ray.getDirection(); // v0 is the ray's direction
-        Point p1 = vertices.get(1); // p1 is the second vertex
-        Point p2 = vertices.get(0); // p2 is the first vertex
-        Vector v1 = p1.subtract(p0); // v1 is the vector from p0 to p1
-        Vector v2 = p2.subtract(p0); // v2 is the vector from p0 to p2
+    /**
+     * Point in polygon test against all the edges.
+     *
+     * @param x x coordinate of a point in the polygon's plane
+     * @param y y coordinate of a point in the polygon's plane
+     * @param z z coordinate of a point in the polygon's plane
+     * @return 0 if the point is inside the polygon, -1 otherwise
+     */
+    private int insideEdges(double x, double y, double z) {
+        for (int i = 0; i < size; ++i)
+            if (side(edges, i, x, y, z) <= 0)
+                return -1;
+        return 0;
+    }
 
-        double sign = alignZero(v0.dotProduct(v1.crossProduct(v2))); // sign is the dot product of v0 and the cross product of v1 and v2
-        if (isZero(sign))  // if the sign is zero
-            return null; // the ray doesn't intersect the polygon
+    /**
+     * Point in polygon test by a binary search for the fan triangle (v0, vi, vi+1) whose wedge
+     * contains the point, and a test against its outer edge.
+     *
+     * @param x x coordinate of a point in the polygon's plane
+     * @param y y coordinate of a point in the polygon's plane
+     * @param z z coordinate of a point in the polygon's plane
+     * @return the index of the fan triangle containing the point, -1 if the point is outside the polygon
+     */
+    private int insideFan(double x, double y, double z) {
+        // The first and the last diagonals are the edges at the first vertex
+        int lo = 1;
+        int hi = size - 1;
+        if (side(fan, lo, x, y, z) <= 0 || side(fan, hi, x, y, z) >= 0)
+            return -1;
+
+        while (hi - lo > 1) { // The point is on the inner side of diagonal lo and not of diagonal hi
+            int mid = (lo + hi) >>> 1;
+            if (side(fan, mid, x, y, z) > 0)
+                lo = mid;
+            else
+                hi = mid;
+        }
 
-        boolean positive = (sign > 0); // positive is true if the sign is positive
+        return side(edges, lo, x, y, z) > 0 ? lo - 1 : -1;
+    }
 
-        for (int i = vertices.size() - 1; i > 0; --i) { // for each vertex in the polygon
-            v1 = v2;
-            v2 = vertices.get(i).subtract(p0);
+    /**
+     * Signed distance-like value of a point from a precomputed line in the polygon's plane
+     *
+     * @param lines the precomputed lines table
+     * @param i     the index of the line in the table
+     * @param x     x coordinate of the point
+     * @param y     y coordinate of the point
+     * @param z     z coordinate of the point
+     * @return positive on the inner side of the line, zero on the line, negative on the outer side
+     */
+    private static double side(double[] lines, int i, double x, double y, double z) {
+        int k = 4 * i;
+        return alignZero(lines[k] * x + lines[k + 1] * y + lines[k + 2] * z - lines[k + 3]);
+    }
 
-            sign = alignZero(v0.dotProduct(v1.crossProduct(v2)));
-            if (isZero(sign)) // if the sign is zero
-                return null;
-            if (positive != (sign > 0)) // if the sign is not positive
-                return null;
+    /**
+     * Computes the inward normals (in the polygon's plane) of the edges or of the fan diagonals.
+     * Entry 0 of the fan diagonals is unused.
+     *
+     * @param vertices the polygon's vertices
+     * @param diagonals true for the fan diagonals from the first vertex, false for the edges
+     * @return the lines table, 4 numbers (mx, my, mz, d) per line
+     */
+    private double[] inwardNormals(Point[] vertices, boolean diagonals) {
+        Double3 n = plane.getNormal().getXYZ();
+        double nx = n.getD1(), ny = n.getD2(), nz = n.getD3();
+        Double3 v0 = vertices[0].getXYZ();
+        Double3 v2 = vertices[2].getXYZ();
+
+        double[] lines = new double[4 * size];
+        double orientation = 0;
+        for (int i = diagonals ? 1 : 0; i < size; ++i) {
+            Double3 from = diagonals ? v0 : vertices[i].getXYZ();
+            Double3 to = diagonals ? vertices[i].getXYZ() : vertices[(i + 1) % size].getXYZ();
+            double ex = to.getD1() - from.getD1();
+            double ey = to.getD2() - from.getD2();
+            double ez = to.getD3() - from.getD3();
+            // m = n x e
+            double mx = ny * ez - nz * ey;
+            double my = nz * ex - nx * ez;
+            double mz = nx * ey - ny * ex;
+            // The first line is the first edge, the third vertex is on its inner side
+            if (orientation == 0)
+                orientation = mx * (v2.getD1() - v0.getD1()) + my * (v2.getD2() - v0.getD2())
+                        + mz * (v2.getD3() - v0.getD3()) > 0 ? 1 : -1;
+            int k = 4 * i;
+            lines[k] = orientation * mx;
+            lines[k + 1] = orientation * my;
+            lines[k + 2] = orientation * mz;
+            lines[k + 3] = lines[k] * from.getD1() + lines[k + 1] * from.getD2() + lines[k + 2] * from.getD3();
         }
-
-        for (GeoPoint gp : intersections) // for each intersection point
-            gp.geometry = this;
-
-        return intersections; // return the list of intersection points
+        return lines;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,169 @@
+package geometries;
+
+import primitives.Double3;
+import primitives.Point;
+import primitives.Ray;
+import primitives.Vector;
+
+import java.util.Arrays;
+
+/**
+ * Class RayBatch holds a batch of rays in structure-of-arrays layout, together with the closest hit
+ * of each ray. The intersection kernels loop over the primitive arrays, with no per-ray objects
+ * and no per-ray virtual dispatch.
+ */
+public class RayBatch {
+    /**
+     * The ray heads coordinates.
+     */
+    public final double[] ox, oy, oz;
+
+    /**
+     * The ray directions coordinates, the directions must be normalized.
+     */
+    public final double[] dx, dy, dz;
+
+    /**
+     * The maximum distance of each ray on input, and the distance of its closest hit on output.
+     */
+    public final double[] t;
+
+    /**
+     * The closest hit geometry of each ray, null if the ray hits nothing.
+     */
+    public final Geometry[] geometry;
+
+    /**
+     * The index of the hit primitive or face within the hit geometry of each ray.
+     */
+    public final int[] index;
+
+    /**
+     * The number of rays in the batch.
+     */
+    private int size = 0;
+
+    /**
+     * Constructor for an empty batch.
+     *
+     * @param capacity the maximal number of rays in the batch.
+     */
+    public RayBatch(int capacity) {
+        ox = new double[capacity];
+        oy = new double[capacity];
+        oz = new double[capacity];
+        dx = new double[capacity];
+        dy = new double[capacity];
+        dz = new double[capacity];
+        t = new double[capacity];
+        geometry = new Geometry[capacity];
+        index = new int[capacity];
+    }
+
+    /**
+     * Getter for the number of rays in the batch.
+     *
+     * @return the number of rays.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Getter for the maximal number of rays in the batch.
+     *
+     * @return the capacity of the batch.
+     */
+    public int capacity() {
+        return t.length;
+    }
+
+    /**
+     * Removes all the rays from the batch.
+     *
+     * @return this.
+     */
+    public RayBatch clear() {
+        Arrays.fill(geometry, 0, size, null);
+        size = 0;
+        return this;
+    }
+
+    /**
+     * Adds a ray to the batch.
+     *
+     * @param ray         the ray.
+     * @param maxDistance the maximum distance to look for a hit.
+     * @return the index of the ray in the batch.
+     * @throws IllegalStateException if the batch is full.
+     */
+    public int add(Ray ray, double maxDistance) {
+        Double3 head = ray.getHead().getXYZ();
+        Double3 direction = ray.getDirection().getXYZ();
+        return add(head.getD1(), head.getD2(), head.getD3(),
+                direction.getD1(), direction.getD2(), direction.getD3(), maxDistance);
+    }
+
+    /**
+     * Adds a ray to the batch by its coordinates.
+     *
+     * @param x           x coordinate of the ray head.
+     * @param y           y coordinate of the ray head.
+     * @param z           z coordinate of the ray head.
+     * @param vx          x coordinate of the normalized ray direction.
+     * @param vy          y coordinate of the normalized ray direction.
+     * @param vz          z coordinate of the normalized ray direction.
+     * @param maxDistance the maximum distance to look for a hit.
+     * @return the index of the ray in the batch.
+     * @throws IllegalStateException if the batch is full.
+     */
+    public int add(double x, double y, double z, double vx, double vy, double vz, double maxDistance) {
+        if (size == t.length)
+            throw new IllegalStateException("The ray batch is full");
+        ox[size] = x;
+        oy[size] = y;
+        oz[size] = z;
+        dx[size] = vx;
+        dy[size] = vy;
+        dz[size] = vz;
+        t[size] = maxDistance;
+        geometry[size] = null;
+        index[size] = -1;
+        return size++;
+    }
+
+    /**
+     * Records a new closest hit of a ray.
+     *
+     * @param i        the index of the ray in the batch.
+     * @param t        the distance of the hit along the ray.
+     * @param geometry the hit geometry.
+     * @param index    the index of the hit primitive or face within the geometry.
+     */
+    public void set(int i, double t, Geometry geometry, int index) {
+        this.t[i] = t;
+        this.geometry[i] = geometry;
+        this.index[i] = index;
+    }
+
+    /**
+     * Materializes a ray of the batch.
+     *
+     * @param i the index of the ray in the batch.
+     * @return the ray.
+     */
+    public Ray getRay(int i) {
+        return new Ray(new Point(ox[i], oy[i], oz[i]), new Vector(dx[i], dy[i], dz[i]));
+    }
+
+    /**
+     * Materializes the closest hit point of a ray of the batch.
+     *
+     * @param i the index of the ray in the batch.
+     * @return the hit point, or null if the ray hits nothing.
+     */
+    public Point getPoint(int i) {
+        return geometry[i] == null ? null
+                : new Point(ox[i] + t[i] * dx[i], oy[i] + t[i] * dy[i], oz[i] + t[i] * dz[i]);
+    }
+}
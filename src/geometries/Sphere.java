@@ -1,13 +1,16 @@
 package geometries;
 
+import primitives.Double3;
 import primitives.Point;
 import primitives.Ray;
 import primitives.Util;
+import primitives.Vec3;
 import primitives.Vector;
 
 import java.util.List;
 
 import static primitives.Util.alignZero;
+import static primitives.Util.isZero;
 
 /**
  * Class Sphere is the class representing a sphere in the 3D space.
@@ -28,8 +31,7 @@ public class Sphere extends RadialGeometry {
 
     @Override
     public Vector getNormal(Point point) {
-        Vector n = point.subtract(center);
-        return n.normalize();
+        return new Vec3(point).subtract(center).normalize().toTrustedVector();
     }
 
     @Override
@@ -67,4 +69,65 @@ public class Sphere extends RadialGeometry {
 
         return t1 <= 0 ? List.of(new GeoPoint(this, ray.getPoint(t2))) : List.of(new GeoPoint(this, ray.getPoint(t1)),new GeoPoint(this, ray.getPoint(t2)));
     }
-}
\ No newline at end of file
+
+    @Override
+    protected boolean findClosestHitHelper(Ray ray, Hit hit) {
+        Double3 p0 = ray.getHead().getXYZ();
+        Double3 v = ray.getDirection().getXYZ();
+        Double3 c = this.center.getXYZ();
+        // u = center - p0, the vector from the head of the ray to the center of the sphere
+        double ux = c.getD1() - p0.getD1();
+        double uy = c.getD2() - p0.getD2();
+        double uz = c.getD3() - p0.getD3();
+
+        double t;
+        if (isZero(ux) && isZero(uy) && isZero(uz)) // When p0 and the center are the same point
+            t = this.radius;
+        else {
+            double tm = ux * v.getD1() + uy * v.getD2() + uz * v.getD3();
+            double d2 = ux * ux + uy * uy + uz * uz - tm * tm;
+            double th2 = this.radius * this.radius - d2;
+            if (alignZero(th2) <= 0) // if the ray doesn't intersect the sphere
+                return false;
+
+            double th = Math.sqrt(th2);
+            double t2 = alignZero(tm + th);
+            if (t2 <= 0) // if the ray starts after the sphere
+                return false;
+            double t1 = alignZero(tm - th);
+            t = t1 > 0 ? t1 : t2;
+        }
+
+        return t < hit.t && hit.set(t, this, 0);
+    }
+
+    @Override
+    protected void findClosestHitsHelper(RayBatch batch) {
+        Double3 c = this.center.getXYZ();
+        double cx = c.getD1(), cy = c.getD2(), cz = c.getD3();
+        double r2 = this.radius * this.radius;
+        double[] ox = batch.ox, oy = batch.oy, oz = batch.oz;
+        double[] dx = batch.dx, dy = batch.dy, dz = batch.dz;
+        double[] tMax = batch.t;
+
+        for (int i = 0; i < batch.size(); ++i) {
+            double ux = cx - ox[i];
+            double uy = cy - oy[i];
+            double uz = cz - oz[i];
+            double t;
+            if (isZero(ux) && isZero(uy) && isZero(uz)) // The ray starts at the center
+                t = this.radius;
+            else {
+                double tm = ux * dx[i] + uy * dy[i] + uz * dz[i];
+                double th2 = alignZero(r2 - (ux * ux + uy * uy + uz * uz - tm * tm));
+                if (th2 <= 0) // The ray doesn't intersect the sphere
+                    continue;
+                double th = Math.sqrt(th2);
+                double t1 = alignZero(tm - th);
+                t = t1 > 0 ? t1 : alignZero(tm + th);
+            }
+            if (t > 0 && t < tMax[i])
+                batch.set(i, t, this, 0);
+        }
+    }
+}
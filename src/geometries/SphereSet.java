@@ -0,0 +1,550 @@
+package geometries;
+
+import primitives.Color;
+import primitives.Double3;
+import primitives.Material;
+import primitives.Point;
+import primitives.Ray;
+import primitives.Vec3;
+import primitives.Vector;
+
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+
+import static primitives.Util.alignZero;
+import static primitives.Util.isZero;
+
+/**
+ * Class SphereSet is a compact set of many spheres in the 3D space, for particle and molecular scenes.
+ * The centers and the radii are stored in single precision primitive arrays and the materials as indices into
+ * a small palette, instead of a {@link Sphere} object per sphere. The set has its own bounding volume hierarchy
+ * over the spheres, also stored in primitive arrays. The intersection arithmetic is done in double precision,
+ * and a hit sphere is given by its index, with its palette material, for shading.
+ */
+public class SphereSet extends Geometry {
+    /**
+     * The maximum number of spheres in a leaf of the hierarchy.
+     */
+    private static final int LEAF_SIZE = 4;
+
+    /**
+     * The maximum depth of the hierarchy traversal stack.
+     */
+    private static final int STACK_SIZE = 64;
+
+    /**
+     * The hierarchy traversal stack per thread, so the queries don't allocate it.
+     */
+    private static final ThreadLocal<int[]> STACKS = ThreadLocal.withInitial(() -> new int[STACK_SIZE]);
+
+    /**
+     * The sphere centers - x, y, z of each sphere, in the order of the hierarchy leaves.
+     */
+    private final float[] centers;
+
+    /**
+     * The sphere radii, in the order of the hierarchy leaves.
+     */
+    private final float[] radii;
+
+    /**
+     * The palette index of each sphere, in the order of the hierarchy leaves - null when all the spheres use
+     * the material and the emission of the set.
+     */
+    private final int[] materialIndices;
+
+    /**
+     * The material palette.
+     */
+    private final Material[] materials;
+
+    /**
+     * The emission palette, parallel to the material palette.
+     */
+    private final Color[] emissions;
+
+    /**
+     * The bounding boxes of the hierarchy nodes - minimum x, y, z and maximum x, y, z of each node.
+     */
+    private float[] nodeBounds;
+
+    /**
+     * The hierarchy nodes - for a leaf, the index of its first sphere and the number of its spheres,
+     * for an inner node, the index of its first child (the second child follows it) and -1 - the split axis.
+     */
+    private int[] nodes;
+
+    /**
+     * The number of hierarchy nodes.
+     */
+    private int nodeCount;
+
+    /**
+     * Constructor for SphereSet class receiving the centers, the radii and the material palette of the spheres.
+     * The arrays, including the palettes, are copied.
+     *
+     * @param centers         the coordinates of the centers - x, y, z of each sphere.
+     * @param radii           the radius of each sphere.
+     * @param materialIndices the palette index of each sphere.
+     * @param materials       the material palette.
+     * @param emissions       the emission palette, parallel to the material palette.
+     * @throws IllegalArgumentException if the arrays don't match, a radius is not positive or a palette index is missing.
+     */
+    public SphereSet(float[] centers, float[] radii, int[] materialIndices, Material[] materials, Color[] emissions) {
+        if (centers.length != 3 * radii.length)
+            throw new IllegalArgumentException("There must be a center triad per radius");
+        for (float radius : radii)
+            if (!(radius > 0))
+                throw new IllegalArgumentException("The radius must be positive");
+        if (materialIndices != null) {
+            if (materialIndices.length != radii.length || materials.length != emissions.length)
+                throw new IllegalArgumentException("There must be a palette index per sphere and an emission per material");
+            for (int index : materialIndices)
+                if (index < 0 || index >= materials.length)
+                    throw new IllegalArgumentException("Palette index out of range");
+        }
+
+        int n = radii.length;
+        int[] order = new int[n];
+        for (int i = 0; i < n; ++i)
+            order[i] = i;
+        nodeBounds = new float[6 * Math.max(1, n)];
+        nodes = new int[2 * Math.max(1, n)];
+        if (n > 0)
+            build(newNode(), centers, radii, order, 0, n);
+        nodeBounds = Arrays.copyOf(nodeBounds, 6 * nodeCount);
+        nodes = Arrays.copyOf(nodes, 2 * nodeCount);
+
+        // Store the spheres in the order of the leaves, so that each leaf is contiguous
+        this.centers = new float[3 * n];
+        this.radii = new float[n];
+        this.materialIndices = materialIndices == null ? null : new int[n];
+        for (int i = 0; i < n; ++i) {
+            int s = order[i];
+            System.arraycopy(centers, 3 * s, this.centers, 3 * i, 3);
+            this.radii[i] = radii[s];
+            if (materialIndices != null)
+                this.materialIndices[i] = materialIndices[s];
+        }
+        this.materials = materials == null ? null : materials.clone();
+        this.emissions = emissions == null ? null : emissions.clone();
+    }
+
+    /**
+     * Constructor for SphereSet class receiving the centers and the radii of the spheres.
+     * All the spheres have the material and the emission of the set. The arrays are copied.
+     *
+     * @param centers the coordinates of the centers - x, y, z of each sphere.
+     * @param radii   the radius of each sphere.
+     * @throws IllegalArgumentException if the arrays don't match or a radius is not positive.
+     */
+    public SphereSet(float[] centers, float[] radii) {
+        this(centers, radii, null, null, null);
+    }
+
+    /**
+     * Getter for the number of spheres.
+     *
+     * @return the number of spheres.
+     */
+    public int size() {
+        return radii.length;
+    }
+
+    /**
+     * Builds the hierarchy node of a range of spheres and its descendants - median split along the
+     * longest axis of the centers.
+     *
+     * @param node    the index of the node.
+     * @param centers the coordinates of the centers.
+     * @param radii   the radii.
+     * @param order   the spheres, reordered in place by the split.
+     * @param from    the start of the range (inclusive).
+     * @param to      the end of the range (exclusive).
+     */
+    private void build(int node, float[] centers, float[] radii, int[] order, int from, int to) {
+        float[] box = {Float.POSITIVE_INFINITY, Float.POSITIVE_INFINITY, Float.POSITIVE_INFINITY,
+                Float.NEGATIVE_INFINITY, Float.NEGATIVE_INFINITY, Float.NEGATIVE_INFINITY};
+        float[] spread = {Float.POSITIVE_INFINITY, Float.POSITIVE_INFINITY, Float.POSITIVE_INFINITY,
+                Float.NEGATIVE_INFINITY, Float.NEGATIVE_INFINITY, Float.NEGATIVE_INFINITY};
+        for (int i = from; i < to; ++i) {
+            int s = order[i];
+            for (int axis = 0; axis < 3; ++axis) {
+                float c = centers[3 * s + axis];
+                box[axis] = Math.min(box[axis], Math.nextDown(c - radii[s])); // Rounded outwards
+                box[axis + 3] = Math.max(box[axis + 3], Math.nextUp(c + radii[s]));
+                spread[axis] = Math.min(spread[axis], c);
+                spread[axis + 3] = Math.max(spread[axis + 3], c);
+            }
+        }
+        System.arraycopy(box, 0, nodeBounds, 6 * node, 6);
+
+        if (to - from <= LEAF_SIZE) {
+            nodes[2 * node] = from;
+            nodes[2 * node + 1] = to - from;
+            return;
+        }
+
+        int axis = 0;
+        for (int a = 1; a < 3; ++a)
+            if (spread[a + 3] - spread[a] > spread[axis + 3] - spread[axis])
+                axis = a;
+        int middle = (from + to) >>> 1;
+        select(centers, order, from, to - 1, middle, axis);
+
+        int left = newNode();
+        newNode(); // The second child follows the first one
+        nodes[2 * node] = left;
+        nodes[2 * node + 1] = -1 - axis;
+        build(left, centers, radii, order, from, middle);
+        build(left + 1, centers, radii, order, middle, to);
+    }
+
+    /**
+     * Allocates a hierarchy node.
+     *
+     * @return the index of the node.
+     */
+    private int newNode() {
+        if (2 * nodeCount == nodes.length) {
+            nodes = Arrays.copyOf(nodes, 2 * nodes.length);
+            nodeBounds = Arrays.copyOf(nodeBounds, 2 * nodeBounds.length);
+        }
+        return nodeCount++;
+    }
+
+    /**
+     * Partially sorts a range of spheres by a center coordinate, so that the k-th sphere is in its place,
+     * the spheres before it are not greater and the spheres after it are not smaller (quickselect).
+     *
+     * @param centers the coordinates of the centers.
+     * @param order   the spheres.
+     * @param low     the start of the range (inclusive).
+     * @param high    the end of the range (inclusive).
+     * @param k       the position to select.
+     * @param axis    the coordinate to sort by.
+     */
+    private static void select(float[] centers, int[] order, int low, int high, int k, int axis) {
+        while (low < high) {
+            float pivot = centers[3 * order[(low + high) >>> 1] + axis];
+            int i = low, j = high;
+            while (i <= j) {
+                while (centers[3 * order[i] + axis] < pivot) ++i;
+                while (centers[3 * order[j] + axis] > pivot) --j;
+                if (i <= j) {
+                    int temp = order[i];
+                    order[i++] = order[j];
+                    order[j--] = temp;
+                }
+            }
+            if (k <= j) high = j;
+            else if (k >= i) low = i;
+            else return;
+        }
+    }
+
+    /**
+     * The normal of the sphere whose surface contains the point - the sphere with the surface nearest to the point,
+     * among the leaves of the hierarchy whose bounds contain it. The hierarchy is searched, so the normal of a hit
+     * is rather taken by the index of its sphere, see {@link GeoPoint#getNormal()}.
+     *
+     * @throws IllegalArgumentException if the point is out of the bounds of all the spheres.
+     */
+    @Override
+    public Vector getNormal(Point point) {
+        Double3 p = point.getXYZ();
+        double x = p.getD1(), y = p.getD2(), z = p.getD3();
+        int nearest = -1;
+        double nearestDistance = Double.POSITIVE_INFINITY;
+
+        int[] stack = STACKS.get();
+        int top = 0;
+        if (nodeCount > 0)
+            stack[top++] = 0;
+        while (top > 0) {
+            int node = stack[--top];
+            if (!containsPoint(node, x, y, z))
+                continue;
+            int count = nodes[2 * node + 1];
+            if (count < 0) { // Inner node - both children may contain the point
+                stack[top++] = nodes[2 * node];
+                stack[top++] = nodes[2 * node] + 1;
+                continue;
+            }
+            for (int i = nodes[2 * node]; i < nodes[2 * node] + count; ++i) {
+                double dx = x - centers[3 * i], dy = y - centers[3 * i + 1], dz = z - centers[3 * i + 2];
+                double distance = Math.abs(Math.sqrt(dx * dx + dy * dy + dz * dz) - radii[i]); // From the surface
+                if (distance < nearestDistance) {
+                    nearestDistance = distance;
+                    nearest = i;
+                }
+            }
+        }
+        if (nearest < 0)
+            throw new IllegalArgumentException("The point is not on the sphere set");
+        return getNormal(point, nearest);
+    }
+
+    /**
+     * Checks whether the bounding box of a hierarchy node contains a point.
+     *
+     * @param node the index of the node.
+     * @param x    the x coordinate of the point.
+     * @param y    the y coordinate of the point.
+     * @param z    the z coordinate of the point.
+     * @return true if the box contains the point, false otherwise.
+     */
+    private boolean containsPoint(int node, double x, double y, double z) {
+        int b = 6 * node;
+        return x >= nodeBounds[b] && y >= nodeBounds[b + 1] && z >= nodeBounds[b + 2]
+                && x <= nodeBounds[b + 3] && y <= nodeBounds[b + 4] && z <= nodeBounds[b + 5];
+    }
+
+    /**
+     * The normal of a sphere of the set, like the normal of a {@link Sphere}.
+     *
+     * @param point the point on the sphere.
+     * @param index the index of the sphere.
+     * @return the normal of the sphere at the point.
+     */
+    @Override
+    protected Vector getNormal(Point point, int index) {
+        Double3 p = point.getXYZ();
+        return new Vec3(p.getD1() - centers[3 * index], p.getD2() - centers[3 * index + 1], p.getD3() - centers[3 * index + 2])
+                .normalize().toTrustedVector();
+    }
+
+    @Override
+    protected Material getMaterial(int index) {
+        return materialIndices == null ? getMaterial() : materials[materialIndices[index]];
+    }
+
+    @Override
+    protected Color getEmission(int index) {
+        return materialIndices == null ? getEmission() : emissions[materialIndices[index]];
+    }
+
+    @Override
+    protected boolean isOpaque() {
+        if (materialIndices == null)
+            return super.isOpaque();
+        for (Material material : materials)
+            if (!material.kT.equals(Double3.ZERO))
+                return false;
+        return true;
+    }
+
+    /**
+     * Slab test of a ray against the bounding box of a hierarchy node.
+     *
+     * @param node the index of the node.
+     * @param ox   the x coordinate of the ray head.
+     * @param oy   the y coordinate of the ray head.
+     * @param oz   the z coordinate of the ray head.
+     * @param ix   the inverse of the x coordinate of the ray direction.
+     * @param iy   the inverse of the y coordinate of the ray direction.
+     * @param iz   the inverse of the z coordinate of the ray direction.
+     * @param tMax the maximum distance along the ray.
+     * @return true if the ray may hit the box before the maximum distance, false otherwise.
+     */
+    private boolean hitsNode(int node, double ox, double oy, double oz, double ix, double iy, double iz, double tMax) {
+        int b = 6 * node;
+        double t1 = (nodeBounds[b] - ox) * ix, t2 = (nodeBounds[b + 3] - ox) * ix;
+        double tNear = Math.min(t1, t2), tFar = Math.max(t1, t2);
+        t1 = (nodeBounds[b + 1] - oy) * iy;
+        t2 = (nodeBounds[b + 4] - oy) * iy;
+        tNear = Math.max(tNear, Math.min(t1, t2));
+        tFar = Math.min(tFar, Math.max(t1, t2));
+        t1 = (nodeBounds[b + 2] - oz) * iz;
+        t2 = (nodeBounds[b + 5] - oz) * iz;
+        tNear = Math.max(tNear, Math.min(t1, t2));
+        tFar = Math.min(tFar, Math.max(t1, t2));
+        return tNear <= tFar && tFar > 0 && tNear < tMax;
+    }
+
+    /**
+     * Inverse of a ray direction coordinate for the slab tests - a zero coordinate is replaced by a tiny one,
+     * so that the tests never multiply zero by infinity.
+     *
+     * @param d the ray direction coordinate.
+     * @return the inverse.
+     */
+    private static double inverse(double d) {
+        return 1 / (d == 0 ? 1e-300 : d);
+    }
+
+    /**
+     * Intersects a ray with a sphere of the set, the same calculation as {@link Sphere}.
+     *
+     * @param i      the index of the sphere.
+     * @param ox     the x coordinate of the ray head.
+     * @param oy     the y coordinate of the ray head.
+     * @param oz     the z coordinate of the ray head.
+     * @param dx     the x coordinate of the ray direction.
+     * @param dy     the y coordinate of the ray direction.
+     * @param dz     the z coordinate of the ray direction.
+     * @param second false for the nearest intersection in front of the ray head, true for the second one.
+     * @return the distance of the intersection, or infinity if there is none.
+     */
+    private double intersectSphere(int i, double ox, double oy, double oz, double dx, double dy, double dz,
+                                   boolean second) {
+        double radius = radii[i];
+        // u = center - p0, the vector from the head of the ray to the center of the sphere
+        double ux = centers[3 * i] - ox;
+        double uy = centers[3 * i + 1] - oy;
+        double uz = centers[3 * i + 2] - oz;
+        if (isZero(ux) && isZero(uy) && isZero(uz)) // When p0 and the center are the same point
+            return second ? Double.POSITIVE_INFINITY : radius;
+
+        double tm = ux * dx + uy * dy + uz * dz;
+        double th2 = alignZero(radius * radius - (ux * ux + uy * uy + uz * uz - tm * tm));
+        if (th2 <= 0) // The ray doesn't intersect the sphere
+            return Double.POSITIVE_INFINITY;
+        double th = Math.sqrt(th2);
+        double t2 = alignZero(tm + th);
+        if (t2 <= 0) // The ray starts after the sphere
+            return Double.POSITIVE_INFINITY;
+        double t1 = alignZero(tm - th);
+        if (t1 <= 0) // The ray starts inside the sphere
+            return second ? Double.POSITIVE_INFINITY : t2;
+        return second ? t2 : t1;
+    }
+
+    @Override
+    protected List<GeoPoint> findGeoIntersectionsHelper(Ray ray, double maxDistance) {
+        if (nodeCount == 0)
+            return null;
+
+        Double3 p0 = ray.getHead().getXYZ();
+        Double3 v = ray.getDirection().getXYZ();
+        double ox = p0.getD1(), oy = p0.getD2(), oz = p0.getD3();
+        double dx = v.getD1(), dy = v.getD2(), dz = v.getD3();
+        double ix = inverse(dx), iy = inverse(dy), iz = inverse(dz);
+        List<GeoPoint> intersections = null;
+
+        int[] stack = STACKS.get();
+        int top = 0;
+        stack[top++] = 0;
+        while (top > 0) {
+            int node = stack[--top];
+            if (!hitsNode(node, ox, oy, oz, ix, iy, iz, maxDistance))
+                continue;
+            int count = nodes[2 * node + 1];
+            if (count < 0) { // Inner node - the child nearer along the split axis is popped first
+                int near = (count == -1 ? dx : count == -2 ? dy : dz) < 0 ? 1 : 0;
+                stack[top++] = nodes[2 * node] + 1 - near;
+                stack[top++] = nodes[2 * node] + near;
+                continue;
+            }
+            for (int i = nodes[2 * node]; i < nodes[2 * node] + count; ++i)
+                for (int k = 0; k < 2; ++k) {
+                    double t = intersectSphere(i, ox, oy, oz, dx, dy, dz, k == 1);
+                    if (t == Double.POSITIVE_INFINITY) // No more intersections with the sphere
+                        break;
+                    if (alignZero(t - maxDistance) <= 0) {
+                        if (intersections == null)
+                            intersections = new LinkedList<>();
+                        intersections.add(new GeoPoint(this, ray.getPoint(t), i));
+                    }
+                }
+        }
+        return intersections;
+    }
+
+    @Override
+    protected boolean findClosestHitHelper(Ray ray, Hit hit) {
+        if (nodeCount == 0)
+            return false;
+
+        Double3 p0 = ray.getHead().getXYZ();
+        Double3 v = ray.getDirection().getXYZ();
+        double ox = p0.getD1(), oy = p0.getD2(), oz = p0.getD3();
+        double dx = v.getD1(), dy = v.getD2(), dz = v.getD3();
+        double ix = inverse(dx), iy = inverse(dy), iz = inverse(dz);
+        boolean found = false;
+
+        int[] stack = STACKS.get();
+        int top = 0;
+        stack[top++] = 0;
+        while (top > 0) {
+            int node = stack[--top];
+            if (!hitsNode(node, ox, oy, oz, ix, iy, iz, hit.t)) // Also culls the nodes beyond the closest hit so far
+                continue;
+            int count = nodes[2 * node + 1];
+            if (count < 0) { // Inner node - the child nearer along the split axis is popped first
+                int near = (count == -1 ? dx : count == -2 ? dy : dz) < 0 ? 1 : 0;
+                stack[top++] = nodes[2 * node] + 1 - near;
+                stack[top++] = nodes[2 * node] + near;
+                continue;
+            }
+            for (int i = nodes[2 * node]; i < nodes[2 * node] + count; ++i) {
+                double t = intersectSphere(i, ox, oy, oz, dx, dy, dz, false);
+                if (t < hit.t)
+                    found = hit.set(t, this, i);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Any-hit traversal of the hierarchy for an opaque set - the ray is blocked by the first sphere found before
+     * the maximum distance, with no search for the closest one.
+     */
+    @Override
+    protected Double3 findTransparencyHelper(Ray ray, double maxDistance, Double3 ktr, double minK, Hit hit) {
+        if (!isOpaque())
+            return super.findTransparencyHelper(ray, maxDistance, ktr, minK, hit);
+        if (nodeCount == 0)
+            return ktr;
+
+        Double3 p0 = ray.getHead().getXYZ();
+        Double3 v = ray.getDirection().getXYZ();
+        double ox = p0.getD1(), oy = p0.getD2(), oz = p0.getD3();
+        double dx = v.getD1(), dy = v.getD2(), dz = v.getD3();
+        double ix = inverse(dx), iy = inverse(dy), iz = inverse(dz);
+
+        int[] stack = STACKS.get();
+        int top = 0;
+        stack[top++] = 0;
+        while (top > 0) {
+            int node = stack[--top];
+            if (!hitsNode(node, ox, oy, oz, ix, iy, iz, maxDistance))
+                continue;
+            int count = nodes[2 * node + 1];
+            if (count < 0) { // Inner node - the child nearer along the split axis is popped first
+                int near = (count == -1 ? dx : count == -2 ? dy : dz) < 0 ? 1 : 0;
+                stack[top++] = nodes[2 * node] + 1 - near;
+                stack[top++] = nodes[2 * node] + near;
+                continue;
+            }
+            for (int i = nodes[2 * node]; i < nodes[2 * node] + count; ++i) {
+                double t = intersectSphere(i, ox, oy, oz, dx, dy, dz, false);
+                if (t < maxDistance) { // The first blocker ends the query
+                    hit.set(t, this, i);
+                    return Double3.ZERO;
+                }
+            }
+        }
+        return ktr;
+    }
+
+    /**
+     * Tests the sphere of the index alone, without the traversal of the hierarchy.
+     */
+    @Override
+    public boolean findPrimitiveHit(Ray ray, int index, Hit hit) {
+        Double3 p0 = ray.getHead().getXYZ();
+        Double3 v = ray.getDirection().getXYZ();
+        double t = intersectSphere(index, p0.getD1(), p0.getD2(), p0.getD3(), v.getD1(), v.getD2(), v.getD3(), false);
+        return t < hit.t && hit.set(t, this, index);
+    }
+
+    @Override
+    public String toString() {
+        return "SphereSet{" +
+                "spheres=" + size() +
+                ", nodes=" + nodeCount +
+                '}';
+    }
+}
@@ -0,0 +1,332 @@
+package geometries;
+
+import primitives.Color;
+import primitives.Double3;
+import primitives.Material;
+import primitives.Matrix;
+import primitives.Point;
+import primitives.Ray;
+import primitives.Vec3;
+import primitives.Vector;
+
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * Class Transformed places an intersectable (a geometry, a collection of geometries or an acceleration structure)
+ * in the scene by an affine transformation, without rebuilding it. The rays are transformed into the object space
+ * of the wrapped intersectable by the inverse transformation, which is calculated once, together with the normal
+ * transformation. The wrapped intersectable may be shared by many placements.
+ * A hit is recorded by the hit geometry in object space and its placement, and the geometry is placed into world
+ * space only when the hit is materialized for shading. The material and the emission are those of the wrapped
+ * geometries.
+ */
+public class Transformed extends Intersectable {
+    /**
+     * Class Placed is a geometry of the wrapped intersectable placed into world space - the geometry of
+     * the materialized hits of the placement.
+     */
+    private static final class Placed extends Geometry {
+        /**
+         * The geometry, in object space.
+         */
+        private final Geometry geometry;
+
+        /**
+         * The placement of the geometry.
+         */
+        private final Transformed placement;
+
+        /**
+         * Constructor for the placed geometry.
+         *
+         * @param geometry  the geometry, in object space.
+         * @param placement the placement of the geometry.
+         */
+        private Placed(Geometry geometry, Transformed placement) {
+            this.geometry = geometry;
+            this.placement = placement;
+        }
+
+        /**
+         * The normal of the placed geometry - the object space normal transformed by the normal transformation.
+         */
+        @Override
+        public Vector getNormal(Point point) {
+            return placement.toWorld(geometry.getNormal(placement.inverse.transformPoint(point)));
+        }
+
+        @Override
+        protected Vector getNormal(Point point, int index) {
+            return placement.toWorld(geometry.getNormal(placement.inverse.transformPoint(point), index));
+        }
+
+        @Override
+        public Material getMaterial() {
+            return geometry.getMaterial();
+        }
+
+        @Override
+        protected Material getMaterial(int index) {
+            return geometry.getMaterial(index);
+        }
+
+        @Override
+        public Color getEmission() {
+            return geometry.getEmission();
+        }
+
+        @Override
+        protected Color getEmission(int index) {
+            return geometry.getEmission(index);
+        }
+
+        @Override
+        protected boolean isOpaque() {
+            return geometry.isOpaque();
+        }
+
+        @Override
+        protected List<GeoPoint> findGeoIntersectionsHelper(Ray ray, double maxDistance) {
+            return placement.findGeoIntersections(geometry, this, ray, maxDistance);
+        }
+
+        @Override
+        protected boolean findClosestHitHelper(Ray ray, Hit hit) {
+            return placement.findClosestHit(geometry, ray, hit) && hit.set(hit.t, this, hit.index);
+        }
+
+        @Override
+        protected Double3 findTransparencyHelper(Ray ray, double maxDistance, Double3 ktr, double minK, Hit hit) {
+            ktr = placement.findTransparency(geometry, ray, maxDistance, ktr, minK, hit);
+            if (hit.placement == placement) // An opaque blocker of the geometry - recorded by the placed geometry
+                hit.set(hit.t, this, hit.index);
+            return ktr;
+        }
+
+        @Override
+        public boolean findPrimitiveHit(Ray ray, int index, Hit hit) {
+            return placement.findPrimitiveHit(ray, geometry, index, hit) && hit.set(hit.t, this, index);
+        }
+
+        @Override
+        public String toString() {
+            return "Placed{" +
+                    "geometry=" + geometry +
+                    ", placement=" + placement +
+                    '}';
+        }
+    }
+
+    /**
+     * The wrapped intersectable, in object space.
+     */
+    private final Intersectable object;
+
+    /**
+     * The transformation from object space to world space.
+     */
+    private final Matrix transform;
+
+    /**
+     * The transformation from world space to object space.
+     */
+    private final Matrix inverse;
+
+    /**
+     * The transformation of the normals from object space to world space - the transposed inverse.
+     */
+    private final Matrix normalTransform;
+
+    /**
+     * The wrapped geometry placed into world space, null if the wrapped intersectable is not a single geometry.
+     */
+    private final Geometry placed;
+
+    /**
+     * Constructor for Transformed class receiving the intersectable and its placement.
+     *
+     * @param object    the intersectable, in object space.
+     * @param transform the transformation from object space to world space.
+     * @throws IllegalArgumentException if the transformation is singular.
+     */
+    public Transformed(Intersectable object, Matrix transform) {
+        this.object = object;
+        this.transform = transform;
+        this.inverse = transform.inverse();
+        this.normalTransform = inverse.transposeLinear();
+        this.placed = object instanceof Geometry geometry ? new Placed(geometry, this) : null;
+    }
+
+    /**
+     * Getter for the transformation from object space to world space.
+     *
+     * @return the transformation.
+     */
+    public Matrix getTransform() {
+        return transform;
+    }
+
+    /**
+     * Places a hit geometry of the wrapped intersectable into world space. The wrapped geometry itself has
+     * a single placed geometry, and only a member of a wrapped collection gets a new one.
+     *
+     * @param geometry the hit geometry, in object space.
+     * @return the placed geometry.
+     */
+    Geometry place(Geometry geometry) {
+        return geometry == object ? placed : new Placed(geometry, this);
+    }
+
+    /**
+     * Transforms a world space ray into object space. The direction is normalized, as the geometries expect,
+     * so distances along the object space ray are the world space distances multiplied by the returned scale.
+     *
+     * @param ray   the world space ray.
+     * @param scale the object space length of a unit of world space distance along the ray - output.
+     * @return the object space ray.
+     */
+    private Ray toObject(Ray ray, double[] scale) {
+        Point head = inverse.transformPoint(new Vec3(ray.getHead())).toPoint();
+        Vec3 direction = inverse.transformVector(new Vec3(ray.getDirection()));
+        scale[0] = direction.length();
+        return Ray.trusted(head, direction.scale(1 / scale[0]).toTrustedVector());
+    }
+
+    /**
+     * Transforms an object space normal into world space by the normal transformation.
+     *
+     * @param normal the object space normal.
+     * @return the world space normal.
+     */
+    private Vector toWorld(Vector normal) {
+        return normalTransform.transformVector(new Vec3(normal)).normalize().toTrustedVector();
+    }
+
+    /**
+     * Records an object space hit of the wrapped intersectable as a hit of this placement. A hit geometry of
+     * a nested placement is placed into world space of the nested placement first.
+     *
+     * @param hit   the hit record, with the object space distance.
+     * @param scale the object space length of a unit of world space distance along the ray.
+     */
+    private void record(Hit hit, double scale) {
+        hit.set(hit.t / scale, hit.getGeometry(), hit.index, this);
+    }
+
+    @Override
+    protected boolean isOpaque() {
+        return object.isOpaque();
+    }
+
+    /**
+     * Finds the intersections of a ray with an intersectable of this placement.
+     *
+     * @param object      the intersectable, in object space.
+     * @param geometry    the placed geometry of all the intersections, null to place the geometry of each one.
+     * @param ray         the world space ray.
+     * @param maxDistance the maximum world space distance.
+     * @return the intersections in world space, or null if there are none.
+     */
+    private List<GeoPoint> findGeoIntersections(Intersectable object, Geometry geometry, Ray ray, double maxDistance) {
+        double[] scale = new double[1];
+        List<GeoPoint> intersections = object.findGeoIntersections(toObject(ray, scale), maxDistance * scale[0]);
+        if (intersections == null)
+            return null;
+
+        List<GeoPoint> placed = new LinkedList<>();
+        for (GeoPoint gp : intersections)
+            placed.add(new GeoPoint(geometry != null ? geometry : place(gp.geometry),
+                    transform.transformPoint(gp.point), gp.index));
+        return placed;
+    }
+
+    /**
+     * Finds the closest hit of a ray with an intersectable of this placement.
+     *
+     * @param object the intersectable, in object space.
+     * @param ray    the world space ray.
+     * @param hit    the hit record, in world space distances.
+     * @return true if a closer hit was found, false otherwise.
+     */
+    private boolean findClosestHit(Intersectable object, Ray ray, Hit hit) {
+        double[] scale = new double[1];
+        Ray objectRay = toObject(ray, scale);
+        double maxDistance = hit.t;
+        hit.t = maxDistance * scale[0]; // The record distance is in object space during the query
+        if (!object.findClosestHit(objectRay, hit)) {
+            hit.t = maxDistance;
+            return false;
+        }
+
+        record(hit, scale[0]); // The primitive keeps its index
+        return true;
+    }
+
+    /**
+     * Accumulates the transparency of the intersections of a shadow ray with an intersectable of this placement.
+     *
+     * @param object      the intersectable, in object space.
+     * @param ray         the world space shadow ray.
+     * @param maxDistance the maximum world space distance.
+     * @param ktr         the transparency accumulated so far.
+     * @param minK        the transparency below which the ray is considered fully blocked.
+     * @param hit         scratch hit record for the opaque geometries tests.
+     * @return the accumulated transparency, or {@link Double3#ZERO} if the ray is blocked.
+     */
+    private Double3 findTransparency(Intersectable object, Ray ray, double maxDistance, Double3 ktr, double minK,
+                                     Hit hit) {
+        double[] scale = new double[1];
+        Ray objectRay = toObject(ray, scale);
+        ktr = object.findTransparency(objectRay, maxDistance * scale[0], ktr, minK, hit);
+        if (hit.geometry != null) // An opaque blocker, in object space - recorded with this placement
+            record(hit, scale[0]);
+        return ktr;
+    }
+
+    /**
+     * Looks for a hit of a single primitive of a geometry of this placement, for {@link Hit#findPrimitiveHit}.
+     *
+     * @param ray      the world space ray.
+     * @param geometry the geometry, in object space.
+     * @param index    the index of the primitive within the geometry.
+     * @param hit      the hit record, in world space distances.
+     * @return true if the primitive is hit closer, false otherwise.
+     */
+    boolean findPrimitiveHit(Ray ray, Geometry geometry, int index, Hit hit) {
+        double[] scale = new double[1];
+        Ray objectRay = toObject(ray, scale);
+        double maxDistance = hit.t;
+        hit.t = maxDistance * scale[0]; // The record distance is in object space during the query
+        if (!geometry.findPrimitiveHit(objectRay, index, hit)) {
+            hit.t = maxDistance;
+            return false;
+        }
+
+        record(hit, scale[0]);
+        return true;
+    }
+
+    @Override
+    protected List<GeoPoint> findGeoIntersectionsHelper(Ray ray, double maxDistance) {
+        return findGeoIntersections(object, placed, ray, maxDistance);
+    }
+
+    @Override
+    protected boolean findClosestHitHelper(Ray ray, Hit hit) {
+        return findClosestHit(object, ray, hit);
+    }
+
+    @Override
+    protected Double3 findTransparencyHelper(Ray ray, double maxDistance, Double3 ktr, double minK, Hit hit) {
+        return findTransparency(object, ray, maxDistance, ktr, minK, hit);
+    }
+
+    @Override
+    public String toString() {
+        return "Transformed{" +
+                "object=" + object +
+                ", transform=" + transform +
+                '}';
+    }
+}
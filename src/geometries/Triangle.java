@@ -1,17 +1,37 @@
 package geometries;
 
+import primitives.Double3;
 import primitives.Point;
 import primitives.Ray;
-import primitives.Vector;
-
-import java.util.List;
 
 import static primitives.Util.alignZero;
+import static primitives.Util.isZero;
 
 /**
  * Class Triangle is the class representing a triangle in the 3D space.
  */
 public class Triangle extends Polygon {
+    /**
+     * The width of the band of barycentric coordinates along the edges (widened by the inverse determinant for
+     * small triangles), in which the edge test of the polygon intersection decides whether the ray is inside.
+     */
+    static final double EDGE_BAND = 1e-9;
+
+    /**
+     * The coordinates of the first vertex.
+     */
+    private final double v0x, v0y, v0z;
+
+    /**
+     * The edge from the first vertex to the second one.
+     */
+    private final double e1x, e1y, e1z;
+
+    /**
+     * The edge from the first vertex to the third one.
+     */
+    private final double e2x, e2y, e2z;
+
     /**
      * Constructor for Triangle class receiving three points.
      *
@@ -20,51 +40,187 @@ public class Triangle extends Polygon {
      * @param p3 the third point.
      */
     public Triangle(Point p1, Point p2, Point p3) {
-        super(p1, p2, p3);
+        super(false, p1, p2, p3);
+        Double3 a = p1.getXYZ();
+        Double3 b = p2.getXYZ();
+        Double3 c = p3.getXYZ();
+        v0x = a.getD1();
+        v0y = a.getD2();
+        v0z = a.getD3();
+        e1x = b.getD1() - v0x;
+        e1y = b.getD2() - v0y;
+        e1z = b.getD3() - v0z;
+        e2x = c.getD1() - v0x;
+        e2y = c.getD2() - v0y;
+        e2z = c.getD3() - v0z;
+    }
+
+    /**
+     * Moller-Trumbore intersection over the precomputed edges.
+     * Writes the barycentric coordinates of the hit relative to the 2nd and 3rd vertices into the record.
+     */
+    @Override
+    protected boolean findClosestHitHelper(Ray ray, Hit hit) {
+        Double3 p0 = ray.getHead().getXYZ();
+        Double3 v = ray.getDirection().getXYZ();
+        double dx = v.getD1(), dy = v.getD2(), dz = v.getD3();
+
+        // p = v x e2
+        double px = dy * e2z - dz * e2y;
+        double py = dz * e2x - dx * e2z;
+        double pz = dx * e2y - dy * e2x;
+        double det = e1x * px + e1y * py + e1z * pz;
+        if (isZero(det)) // The ray is parallel to the triangle
+            return false;
+        double invDet = 1 / det;
+
+        // s = p0 - v0
+        double sx = p0.getD1() - v0x;
+        double sy = p0.getD2() - v0y;
+        double sz = p0.getD3() - v0z;
+        double band = EDGE_BAND * (1 + Math.abs(invDet));
+        double u = (sx * px + sy * py + sz * pz) * invDet;
+        if (u < -band || u > 1 + band) // Outside
+            return false;
+
+        // q = s x e1
+        double qx = sy * e1z - sz * e1y;
+        double qy = sz * e1x - sx * e1z;
+        double qz = sx * e1y - sy * e1x;
+        double w = (dx * qx + dy * qy + dz * qz) * invDet;
+        if (w < -band || u + w > 1 + band) // Outside
+            return false;
+        if ((u < band || w < band || u + w > 1 - band) // Numerically on an edge
+                && !insideEdges(p0.getD1(), p0.getD2(), p0.getD3(), dx, dy, dz))
+            return false;
+
+        double t = alignZero((e2x * qx + e2y * qy + e2z * qz) * invDet);
+        if (t <= 0 || t >= hit.t)
+            return false;
+
+        hit.set(t, this, 0);
+        hit.u = u;
+        hit.v = w;
+        return true;
     }
 
-//    @Override
-//    protected List<GeoPoint> findGeoIntersectionHelper(Ray ray) {
-//        Vector v = ray.getDirection(); // The direction of the ray
-//        Point p0 = ray.getHead(); // The start point of the ray
-//
-//        List<GeoPoint> intersections = this.plane.findGeoIntersectionHelper(ray); // The intersections with the plane
-//
-//        if (intersections == null) // If there are no intersections with the plane
-//            return null;
-//
-//        Vector v1, v2, v3;
-//        Vector n1, n2, n3;
-//
-//        Point p1 = this.vertices.get(0); // The first point of the triangle
-//        Point p2 = this.vertices.get(1); // The second point of the triangle
-//        Point p3 = this.vertices.get(2); // The third point of the triangle
-//        try { // Calculate the vectors of the triangle
-//            v1 = p1.subtract(p0);
-//            v2 = p2.subtract(p0);
-//            v3 = p3.subtract(p0);
-//        } catch (IllegalArgumentException ex) {
-//            return null;
-//        }
-//
-//        try { // Calculate the normals of the triangle
-//            n1 = v1.crossProduct(v2).normalize();
-//            n2 = v2.crossProduct(v3).normalize();
-//            n3 = v3.crossProduct(v1).normalize();
-//        } catch (IllegalArgumentException ex) {
-//            return null;
-//        }
-//
-//        double vn1, vn2, vn3; // The dot product of the direction of the ray and the normals of the triangle
-//        vn1 = alignZero(v.dotProduct(n1));
-//        vn2 = alignZero(v.dotProduct(n2));
-//        vn3 = alignZero(v.dotProduct(n3));
-//
-//        if ((vn1 < 0 && vn2 < 0 && vn3 < 0) || (vn1 > 0 && vn2 > 0 && vn3 > 0)) { // The ray is outside the triangle
-//            intersections.getFirst().geometry = this; // Update the geometry of the intersection
-//            return intersections; // Return the intersections
-//        }
-//
-//        return null; // The ray does not intersect the triangle
-//    }
-}
\ No newline at end of file
+    @Override
+    protected void findClosestHitsHelper(RayBatch batch) {
+        double[] ox = batch.ox, oy = batch.oy, oz = batch.oz;
+        double[] dx = batch.dx, dy = batch.dy, dz = batch.dz;
+        double[] tMax = batch.t;
+
+        for (int i = 0; i < batch.size(); ++i) {
+            // The same Moller-Trumbore calculation as the single ray kernel
+            double px = dy[i] * e2z - dz[i] * e2y;
+            double py = dz[i] * e2x - dx[i] * e2z;
+            double pz = dx[i] * e2y - dy[i] * e2x;
+            double det = e1x * px + e1y * py + e1z * pz;
+            if (isZero(det))
+                continue;
+            double invDet = 1 / det;
+
+            double sx = ox[i] - v0x;
+            double sy = oy[i] - v0y;
+            double sz = oz[i] - v0z;
+            double band = EDGE_BAND * (1 + Math.abs(invDet));
+            double u = (sx * px + sy * py + sz * pz) * invDet;
+            if (u < -band || u > 1 + band)
+                continue;
+
+            double qx = sy * e1z - sz * e1y;
+            double qy = sz * e1x - sx * e1z;
+            double qz = sx * e1y - sy * e1x;
+            double w = (dx[i] * qx + dy[i] * qy + dz[i] * qz) * invDet;
+            if (w < -band || u + w > 1 + band)
+                continue;
+            if ((u < band || w < band || u + w > 1 - band)
+                    && !insideEdges(ox[i], oy[i], oz[i], dx[i], dy[i], dz[i]))
+                continue;
+
+            double t = alignZero((e2x * qx + e2y * qy + e2z * qz) * invDet);
+            if (t > 0 && t < tMax[i])
+                batch.set(i, t, this, 0);
+        }
+    }
+
+    /**
+     * The edge test of the polygon intersection, for the rays that pass numerically on an edge: the ray is inside
+     * iff the triple products of its direction with the vectors to each pair of adjacent vertices are all non-zero
+     * and of the same sign. It repeats the calculations of the test in the same order, so such rays get the same
+     * answer as by the polygon, whatever the rounding errors of the barycentric coordinates.
+     *
+     * @param ox the x coordinate of the head of the ray.
+     * @param oy the y coordinate of the head of the ray.
+     * @param oz the z coordinate of the head of the ray.
+     * @param dx the x coordinate of the direction of the ray.
+     * @param dy the y coordinate of the direction of the ray.
+     * @param dz the z coordinate of the direction of the ray.
+     * @return true if the ray passes inside the triangle, false otherwise.
+     */
+    private boolean insideEdges(double ox, double oy, double oz, double dx, double dy, double dz) {
+        Double3 a = vertices.get(0).getXYZ();
+        Double3 b = vertices.get(1).getXYZ();
+        Double3 c = vertices.get(2).getXYZ();
+        return insideEdges(a.getD1(), a.getD2(), a.getD3(), b.getD1(), b.getD2(), b.getD3(),
+                c.getD1(), c.getD2(), c.getD3(), ox, oy, oz, dx, dy, dz);
+    }
+
+    /**
+     * The edge test of the polygon intersection over the coordinates of the vertices - shared with the faces of
+     * {@link TriangleMesh}, so they get the same answer as the triangle.
+     *
+     * @param v0x the x coordinate of the first vertex.
+     * @param v0y the y coordinate of the first vertex.
+     * @param v0z the z coordinate of the first vertex.
+     * @param v1x the x coordinate of the second vertex.
+     * @param v1y the y coordinate of the second vertex.
+     * @param v1z the z coordinate of the second vertex.
+     * @param v2x the x coordinate of the third vertex.
+     * @param v2y the y coordinate of the third vertex.
+     * @param v2z the z coordinate of the third vertex.
+     * @param ox  the x coordinate of the head of the ray.
+     * @param oy  the y coordinate of the head of the ray.
+     * @param oz  the z coordinate of the head of the ray.
+     * @param dx  the x coordinate of the direction of the ray.
+     * @param dy  the y coordinate of the direction of the ray.
+     * @param dz  the z coordinate of the direction of the ray.
+     * @return true if the ray passes inside the triangle, false otherwise.
+     */
+    static boolean insideEdges(double v0x, double v0y, double v0z, double v1x, double v1y, double v1z,
+                               double v2x, double v2y, double v2z,
+                               double ox, double oy, double oz, double dx, double dy, double dz) {
+        double ax = v0x - ox, ay = v0y - oy, az = v0z - oz;
+        double bx = v1x - ox, by = v1y - oy, bz = v1z - oz;
+        double cx = v2x - ox, cy = v2y - oy, cz = v2z - oz;
+
+        double sign = tripleProduct(dx, dy, dz, bx, by, bz, ax, ay, az);
+        if (isZero(sign))
+            return false;
+        boolean positive = sign > 0;
+        sign = tripleProduct(dx, dy, dz, ax, ay, az, cx, cy, cz);
+        if (isZero(sign) || positive != (sign > 0))
+            return false;
+        sign = tripleProduct(dx, dy, dz, cx, cy, cz, bx, by, bz);
+        return !isZero(sign) && positive == (sign > 0);
+    }
+
+    /**
+     * Calculates the triple product v&#183;(a&#215;b), in the order of the vector operations.
+     *
+     * @param vx the x coordinate of v.
+     * @param vy the y coordinate of v.
+     * @param vz the z coordinate of v.
+     * @param ax the x coordinate of a.
+     * @param ay the y coordinate of a.
+     * @param az the z coordinate of a.
+     * @param bx the x coordinate of b.
+     * @param by the y coordinate of b.
+     * @param bz the z coordinate of b.
+     * @return the triple product.
+     */
+    private static double tripleProduct(double vx, double vy, double vz,
+                                        double ax, double ay, double az, double bx, double by, double bz) {
+        return vx * (ay * bz - az * by) + vy * -(ax * bz - az * bx) + vz * (ax * by - ay * bx);
+    }
+}
@@ -0,0 +1,354 @@
+package geometries;
+
+import primitives.Double3;
+import primitives.Point;
+import primitives.Ray;
+import primitives.Vector;
+
+import java.util.LinkedList;
+import java.util.List;
+
+import static primitives.Util.alignZero;
+import static primitives.Util.isZero;
+
+/**
+ * Class TriangleMesh is a compact indexed triangle mesh in the 3D space.
+ * The vertices are stored in single precision and the faces as indices into them, so a large mesh takes
+ * a fraction of the memory of separate {@link Triangle} objects. The intersection arithmetic is done in
+ * double precision over the stored coordinates, to keep the {@code isZero} robustness of the other geometries.
+ * A hit face is given by its index, and its normal is calculated from the stored vertices for shading.
+ */
+public class TriangleMesh extends Geometry {
+    /**
+     * The vertex coordinates - x, y, z of each vertex.
+     */
+    private final float[] vertices;
+
+    /**
+     * The faces - the indices of the 3 vertices of each triangle.
+     */
+    private final int[] faces;
+
+    /**
+     * The bounding box of the mesh - minimum and maximum coordinates.
+     */
+    private final float minX, minY, minZ, maxX, maxY, maxZ;
+
+    /**
+     * Constructor for TriangleMesh class receiving the vertex coordinates and the faces.
+     *
+     * @param vertices the coordinates of the vertices - x, y, z of each vertex.
+     * @param faces    the indices of the 3 vertices of each triangle.
+     * @throws IllegalArgumentException if the arrays are not triads or a face refers to a missing vertex.
+     */
+    public TriangleMesh(float[] vertices, int[] faces) {
+        if (vertices.length % 3 != 0)
+            throw new IllegalArgumentException("Vertex coordinates must be triads");
+        if (faces.length % 3 != 0)
+            throw new IllegalArgumentException("Faces must be vertex index triads");
+        int count = vertices.length / 3;
+        for (int index : faces)
+            if (index < 0 || index >= count)
+                throw new IllegalArgumentException("Face vertex index out of range");
+
+        this.vertices = vertices;
+        this.faces = faces;
+
+        float x0 = Float.POSITIVE_INFINITY, y0 = Float.POSITIVE_INFINITY, z0 = Float.POSITIVE_INFINITY;
+        float x1 = Float.NEGATIVE_INFINITY, y1 = Float.NEGATIVE_INFINITY, z1 = Float.NEGATIVE_INFINITY;
+        for (int index : faces) { // Only the vertices of the faces matter
+            int k = 3 * index;
+            x0 = Math.min(x0, vertices[k]);
+            y0 = Math.min(y0, vertices[k + 1]);
+            z0 = Math.min(z0, vertices[k + 2]);
+            x1 = Math.max(x1, vertices[k]);
+            y1 = Math.max(y1, vertices[k + 1]);
+            z1 = Math.max(z1, vertices[k + 2]);
+        }
+        minX = x0;
+        minY = y0;
+        minZ = z0;
+        maxX = x1;
+        maxY = y1;
+        maxZ = z1;
+    }
+
+    /**
+     * Constructor for TriangleMesh class receiving the vertices as points and the faces.
+     *
+     * @param vertices the vertices.
+     * @param faces    the indices of the 3 vertices of each triangle.
+     * @throws IllegalArgumentException if the faces are not triads or a face refers to a missing vertex.
+     */
+    public TriangleMesh(Point[] vertices, int[] faces) {
+        this(toFloats(vertices), faces);
+    }
+
+    /**
+     * Converts points into single precision coordinate triads.
+     *
+     * @param points the points.
+     * @return the coordinates - x, y, z of each point.
+     */
+    private static float[] toFloats(Point[] points) {
+        float[] coordinates = new float[3 * points.length];
+        for (int i = 0; i < points.length; ++i) {
+            Double3 xyz = points[i].getXYZ();
+            coordinates[3 * i] = (float) xyz.getD1();
+            coordinates[3 * i + 1] = (float) xyz.getD2();
+            coordinates[3 * i + 2] = (float) xyz.getD3();
+        }
+        return coordinates;
+    }
+
+    /**
+     * Getter for the number of triangles.
+     *
+     * @return the number of triangles.
+     */
+    public int size() {
+        return faces.length / 3;
+    }
+
+    /**
+     * The normal of the face that contains the point. The faces are searched in order, so the normal of a hit
+     * is rather taken by the index of its face, see {@link GeoPoint#getNormal()}.
+     *
+     * @throws IllegalArgumentException if no face of the mesh contains the point.
+     */
+    @Override
+    public Vector getNormal(Point point) {
+        Double3 p = point.getXYZ();
+        for (int face = 0; face < size(); ++face)
+            if (contains(face, p.getD1(), p.getD2(), p.getD3()))
+                return getNormal(point, face);
+        throw new IllegalArgumentException("The point is not on the mesh");
+    }
+
+    /**
+     * The normal of a face, by the cross product of its edges, like the normal of a {@link Triangle}.
+     *
+     * @param point the point on the face.
+     * @param index the index of the face.
+     * @return the normal of the face.
+     */
+    @Override
+    protected Vector getNormal(Point point, int index) {
+        int a = 3 * faces[3 * index], b = 3 * faces[3 * index + 1], c = 3 * faces[3 * index + 2];
+        double e1x = vertices[b] - vertices[a], e1y = vertices[b + 1] - vertices[a + 1], e1z = vertices[b + 2] - vertices[a + 2];
+        double e2x = vertices[c] - vertices[a], e2y = vertices[c + 1] - vertices[a + 1], e2z = vertices[c + 2] - vertices[a + 2];
+        // n = e1 x e2, normalized
+        double nx = e1y * e2z - e1z * e2y, ny = e1z * e2x - e1x * e2z, nz = e1x * e2y - e1y * e2x;
+        double length = Math.sqrt(nx * nx + ny * ny + nz * nz);
+        return Vector.trusted(nx / length, ny / length, nz / length);
+    }
+
+    /**
+     * Checks whether a face contains a point - the point is in the plane of the face,
+     * and on the inner side of each of its edges or on the edge.
+     *
+     * @param face the index of the face.
+     * @param x    the x coordinate of the point.
+     * @param y    the y coordinate of the point.
+     * @param z    the z coordinate of the point.
+     * @return true if the face contains the point, false otherwise.
+     */
+    private boolean contains(int face, double x, double y, double z) {
+        int a = 3 * faces[3 * face], b = 3 * faces[3 * face + 1], c = 3 * faces[3 * face + 2];
+        double e1x = vertices[b] - vertices[a], e1y = vertices[b + 1] - vertices[a + 1], e1z = vertices[b + 2] - vertices[a + 2];
+        double e2x = vertices[c] - vertices[a], e2y = vertices[c + 1] - vertices[a + 1], e2z = vertices[c + 2] - vertices[a + 2];
+        // n = e1 x e2
+        double nx = e1y * e2z - e1z * e2y, ny = e1z * e2x - e1x * e2z, nz = e1x * e2y - e1y * e2x;
+        double length = Math.sqrt(nx * nx + ny * ny + nz * nz);
+        if (isZero(length) // A degenerate face
+                || !isZero((nx * (x - vertices[a]) + ny * (y - vertices[a + 1]) + nz * (z - vertices[a + 2])) / length))
+            return false;
+        return !(edgeSide(nx, ny, nz, a, b, x, y, z) < 0 || edgeSide(nx, ny, nz, b, c, x, y, z) < 0
+                || edgeSide(nx, ny, nz, c, a, x, y, z) < 0);
+    }
+
+    /**
+     * Calculates the side of an edge of a face that a point of the plane of the face is on.
+     *
+     * @param nx   the x coordinate of the normal of the face.
+     * @param ny   the y coordinate of the normal of the face.
+     * @param nz   the z coordinate of the normal of the face.
+     * @param from the offset of the coordinates of the first vertex of the edge.
+     * @param to   the offset of the coordinates of the second vertex of the edge.
+     * @param x    the x coordinate of the point.
+     * @param y    the y coordinate of the point.
+     * @param z    the z coordinate of the point.
+     * @return positive on the inner side, zero on the edge and negative on the outer side.
+     */
+    private double edgeSide(double nx, double ny, double nz, int from, int to, double x, double y, double z) {
+        double ex = vertices[to] - vertices[from], ey = vertices[to + 1] - vertices[from + 1], ez = vertices[to + 2] - vertices[from + 2];
+        double px = x - vertices[from], py = y - vertices[from + 1], pz = z - vertices[from + 2];
+        // n . (e x p)
+        return alignZero(nx * (ey * pz - ez * py) + ny * (ez * px - ex * pz) + nz * (ex * py - ey * px));
+    }
+
+    /**
+     * Slab test of the ray against the bounding box of the mesh.
+     *
+     * @param ray         the ray.
+     * @param maxDistance the maximum distance along the ray.
+     * @return true if the ray may hit the box before the maximum distance, false otherwise.
+     */
+    private boolean hitsBounds(Ray ray, double maxDistance) {
+        Double3 p0 = ray.getHead().getXYZ();
+        Double3 v = ray.getDirection().getXYZ();
+        double[] range = {0, maxDistance};
+        return slab(range, p0.getD1(), v.getD1(), minX, maxX)
+                && slab(range, p0.getD2(), v.getD2(), minY, maxY)
+                && slab(range, p0.getD3(), v.getD3(), minZ, maxZ);
+    }
+
+    /**
+     * Clips the distance range of a ray by the slab of the bounding box along one axis.
+     *
+     * @param range the near and far distances, updated by the slab.
+     * @param o     the coordinate of the ray head along the axis.
+     * @param d     the coordinate of the ray direction along the axis.
+     * @param min   the minimum coordinate of the box along the axis.
+     * @param max   the maximum coordinate of the box along the axis.
+     * @return true if the range is not empty, false otherwise.
+     */
+    private static boolean slab(double[] range, double o, double d, double min, double max) {
+        if (isZero(d)) // The ray is parallel to the slab
+            return o >= min && o <= max;
+        double t1 = (min - o) / d, t2 = (max - o) / d;
+        range[0] = Math.max(range[0], Math.min(t1, t2));
+        range[1] = Math.min(range[1], Math.max(t1, t2));
+        return range[0] <= range[1];
+    }
+
+    /**
+     * Moller-Trumbore intersection of a ray with a face, the same calculation as {@link Triangle}.
+     *
+     * @param face the index of the face.
+     * @param ox   the x coordinate of the ray head.
+     * @param oy   the y coordinate of the ray head.
+     * @param oz   the z coordinate of the ray head.
+     * @param dx   the x coordinate of the ray direction.
+     * @param dy   the y coordinate of the ray direction.
+     * @param dz   the z coordinate of the ray direction.
+     * @return the distance of the intersection, or infinity if there is none.
+     */
+    private double intersectFace(int face, double ox, double oy, double oz, double dx, double dy, double dz) {
+        int a = 3 * faces[3 * face], b = 3 * faces[3 * face + 1], c = 3 * faces[3 * face + 2];
+        double v0x = vertices[a], v0y = vertices[a + 1], v0z = vertices[a + 2];
+        double v1x = vertices[b], v1y = vertices[b + 1], v1z = vertices[b + 2];
+        double v2x = vertices[c], v2y = vertices[c + 1], v2z = vertices[c + 2];
+        double e1x = v1x - v0x, e1y = v1y - v0y, e1z = v1z - v0z;
+        double e2x = v2x - v0x, e2y = v2y - v0y, e2z = v2z - v0z;
+
+        // p = v x e2
+        double px = dy * e2z - dz * e2y;
+        double py = dz * e2x - dx * e2z;
+        double pz = dx * e2y - dy * e2x;
+        double det = e1x * px + e1y * py + e1z * pz;
+        if (isZero(det)) // The ray is parallel to the face
+            return Double.POSITIVE_INFINITY;
+        double invDet = 1 / det;
+
+        // s = p0 - v0
+        double sx = ox - v0x;
+        double sy = oy - v0y;
+        double sz = oz - v0z;
+        double band = Triangle.EDGE_BAND * (1 + Math.abs(invDet));
+        double u = (sx * px + sy * py + sz * pz) * invDet;
+        if (u < -band || u > 1 + band) // Outside
+            return Double.POSITIVE_INFINITY;
+
+        // q = s x e1
+        double qx = sy * e1z - sz * e1y;
+        double qy = sz * e1x - sx * e1z;
+        double qz = sx * e1y - sy * e1x;
+        double w = (dx * qx + dy * qy + dz * qz) * invDet;
+        if (w < -band || u + w > 1 + band) // Outside
+            return Double.POSITIVE_INFINITY;
+        if ((u < band || w < band || u + w > 1 - band) // Numerically on an edge - the edge test of the triangle
+                && !Triangle.insideEdges(v0x, v0y, v0z, v1x, v1y, v1z, v2x, v2y, v2z, ox, oy, oz, dx, dy, dz))
+            return Double.POSITIVE_INFINITY;
+
+        double t = alignZero((e2x * qx + e2y * qy + e2z * qz) * invDet);
+        return t > 0 ? t : Double.POSITIVE_INFINITY;
+    }
+
+    @Override
+    protected List<GeoPoint> findGeoIntersectionsHelper(Ray ray, double maxDistance) {
+        if (!hitsBounds(ray, maxDistance))
+            return null;
+
+        Double3 p0 = ray.getHead().getXYZ();
+        Double3 v = ray.getDirection().getXYZ();
+        List<GeoPoint> intersections = null;
+        for (int face = 0; face < size(); ++face) {
+            double t = intersectFace(face, p0.getD1(), p0.getD2(), p0.getD3(), v.getD1(), v.getD2(), v.getD3());
+            if (alignZero(t - maxDistance) <= 0) {
+                if (intersections == null)
+                    intersections = new LinkedList<>();
+                intersections.add(new GeoPoint(this, ray.getPoint(t), face));
+            }
+        }
+        return intersections;
+    }
+
+    @Override
+    protected boolean findClosestHitHelper(Ray ray, Hit hit) {
+        if (!hitsBounds(ray, hit.t))
+            return false;
+
+        Double3 p0 = ray.getHead().getXYZ();
+        Double3 v = ray.getDirection().getXYZ();
+        boolean found = false;
+        for (int face = 0; face < size(); ++face) {
+            double t = intersectFace(face, p0.getD1(), p0.getD2(), p0.getD3(), v.getD1(), v.getD2(), v.getD3());
+            if (t < hit.t)
+                found = hit.set(t, this, face);
+        }
+        return found;
+    }
+
+    /**
+     * Any-hit test for an opaque mesh - the ray is blocked by the first face found before the maximum distance,
+     * with no search for the closest one.
+     */
+    @Override
+    protected Double3 findTransparencyHelper(Ray ray, double maxDistance, Double3 ktr, double minK, Hit hit) {
+        if (!isOpaque())
+            return super.findTransparencyHelper(ray, maxDistance, ktr, minK, hit);
+        if (!hitsBounds(ray, maxDistance))
+            return ktr;
+
+        Double3 p0 = ray.getHead().getXYZ();
+        Double3 v = ray.getDirection().getXYZ();
+        for (int face = 0; face < size(); ++face) {
+            double t = intersectFace(face, p0.getD1(), p0.getD2(), p0.getD3(), v.getD1(), v.getD2(), v.getD3());
+            if (t < maxDistance) { // The first blocker ends the query
+                hit.set(t, this, face);
+                return Double3.ZERO;
+            }
+        }
+        return ktr;
+    }
+
+    /**
+     * Tests the face of the index alone.
+     */
+    @Override
+    public boolean findPrimitiveHit(Ray ray, int index, Hit hit) {
+        Double3 p0 = ray.getHead().getXYZ();
+        Double3 v = ray.getDirection().getXYZ();
+        double t = intersectFace(index, p0.getD1(), p0.getD2(), p0.getD3(), v.getD1(), v.getD2(), v.getD3());
+        return t < hit.t && hit.set(t, this, index);
+    }
+
+    @Override
+    public String toString() {
+        return "TriangleMesh{" +
+                "vertices=" + vertices.length / 3 +
+                ", faces=" + size() +
+                '}';
+    }
+}
@@ -1,5 +1,6 @@
 package geometries;
 
+import primitives.Double3;
 import primitives.Point;
 import primitives.Ray;
 import primitives.Util;
@@ -7,6 +8,9 @@ import primitives.Vector;
 
 import java.util.List;
 
+import static primitives.Util.alignZero;
+import static primitives.Util.isZero;
+
 /**
  * Class Tube is the class representing a tube in the 3D space.
  * Infinite cylinder with a radius and an axis.
@@ -64,6 +68,85 @@ public class Tube extends RadialGeometry {
 
     @Override
     protected List<GeoPoint> findGeoIntersectionsHelper(Ray ray, double maxDistance) {
-        return null;
+        double t1 = findDistance(ray, maxDistance, 0);
+        if (t1 == Double.POSITIVE_INFINITY) // The ray doesn't intersect the surface
+            return null;
+
+        double t2 = findDistance(ray, maxDistance, t1);
+        return t2 == Double.POSITIVE_INFINITY ? List.of(new GeoPoint(this, ray.getPoint(t1)))
+                : List.of(new GeoPoint(this, ray.getPoint(t1)), new GeoPoint(this, ray.getPoint(t2)));
+    }
+
+    @Override
+    protected boolean findClosestHitHelper(Ray ray, Hit hit) {
+        double t = findDistance(ray, hit.t, 0);
+        return t < hit.t && hit.set(t, this, 0);
+    }
+
+    /**
+     * Finds the distance along the ray to its nearest intersection with the surface beyond a given distance,
+     * up to the given maximum distance. The tube is a quadric surface, so a ray crosses it at most twice,
+     * and the second intersection is the nearest one beyond the first.
+     *
+     * @param ray         the ray to intersect with the surface.
+     * @param maxDistance the maximum distance to intersect with the surface.
+     * @param after       the distance beyond which to look for the intersection, 0 for the nearest one.
+     * @return the distance of the intersection, or {@link Double#POSITIVE_INFINITY} if there is none.
+     */
+    protected double findDistance(Ray ray, double maxDistance, double after) {
+        Double3 p0 = ray.getHead().getXYZ();
+        Double3 v = ray.getDirection().getXYZ();
+        Double3 pa = axis.getHead().getXYZ();
+        Double3 d = axis.getDirection().getXYZ();
+        // dp = p0 - pa, the vector from the head of the axis to the head of the ray
+        double dpx = p0.getD1() - pa.getD1();
+        double dpy = p0.getD2() - pa.getD2();
+        double dpz = p0.getD3() - pa.getD3();
+
+        double vd = v.getD1() * d.getD1() + v.getD2() * d.getD2() + v.getD3() * d.getD3();
+        double dpd = dpx * d.getD1() + dpy * d.getD2() + dpz * d.getD3();
+
+        // |(v - vd*d)t + (dp - dpd*d)|^2 = r^2, both direction vectors are normalized
+        double a = 1 - vd * vd;
+        if (isZero(a)) // The ray is parallel to the axis
+            return Double.POSITIVE_INFINITY;
+        double halfB = v.getD1() * dpx + v.getD2() * dpy + v.getD3() * dpz - vd * dpd;
+        double c = dpx * dpx + dpy * dpy + dpz * dpz - dpd * dpd - radius * radius;
+
+        double discriminant = alignZero(halfB * halfB - a * c);
+        if (discriminant <= 0) // The ray's line doesn't cross the surface or is tangent to it
+            return Double.POSITIVE_INFINITY;
+
+        double root = Math.sqrt(discriminant);
+        double t = alignZero((-halfB - root) / a);
+        if (isValidDistance(t, maxDistance, after, dpd, vd))
+            return t;
+        t = alignZero((-halfB + root) / a);
+        return isValidDistance(t, maxDistance, after, dpd, vd) ? t : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Checks whether an intersection with the infinite surface is beyond the given distance,
+     * within the maximum distance and within the bounds of the geometry.
+     *
+     * @param t           the distance of the intersection along the ray.
+     * @param maxDistance the maximum distance to intersect with the surface.
+     * @param after       the distance beyond which the intersection is looked for.
+     * @param dpd         the projection of the ray head on the axis.
+     * @param vd          the projection of the ray direction on the axis.
+     * @return true if the intersection is valid, false otherwise.
+     */
+    private boolean isValidDistance(double t, double maxDistance, double after, double dpd, double vd) {
+        return t > after && alignZero(t - maxDistance) <= 0 && isWithinBounds(dpd + t * vd);
+    }
+
+    /**
+     * Checks whether a point of the infinite surface belongs to the geometry, by its projection on the axis.
+     *
+     * @param axial the distance of the point's projection on the axis from the head of the axis.
+     * @return true for the infinite tube.
+     */
+    protected boolean isWithinBounds(double axial) {
+        return true;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,124 @@
+package lighting;
+
+import primitives.*;
+
+/**
+ * A base class for the area light sources - lights with a surface instead of a single position.
+ * An area light is shaded like a point light at its center, but its shadows are calculated by a grid of
+ * shadow rays to points on its surface, which gives soft shadows. The ray tracer casts the rays to the corners
+ * of the grid first and adds rays only where they disagree - at the penumbra edges.
+ */
+public abstract class AreaLight extends PointLight {
+    /**
+     * The number of shadow ray samples along each side of the grid.
+     */
+    private int gridSize = 9;
+
+    /**
+     * Constructs an area light with a given intensity and center.
+     *
+     * @param intensity the intensity of the light.
+     * @param center    the center of the light surface.
+     */
+    protected AreaLight(Color intensity, Point center) {
+        super(intensity, center);
+    }
+
+    /**
+     * Setter for the size of the shadow ray grid.
+     *
+     * @param gridSize the number of samples along each side of the grid (at least 2).
+     * @return the AreaLight object.
+     * @throws IllegalArgumentException if the size is lower than 2.
+     */
+    public AreaLight setGridSize(int gridSize) {
+        if (gridSize < 2)
+            throw new IllegalArgumentException("The shadow ray grid must have at least 2 samples per side");
+        this.gridSize = gridSize;
+        return this;
+    }
+
+    /**
+     * Getter for the size of the shadow ray grid.
+     *
+     * @return the number of samples along each side of the grid.
+     */
+    public int getGridSize() {
+        return gridSize;
+    }
+
+    @Override
+    public AreaLight setkC(double kC) {
+        super.setkC(kC);
+        return this;
+    }
+
+    @Override
+    public AreaLight setkL(double kL) {
+        super.setkL(kL);
+        return this;
+    }
+
+    @Override
+    public AreaLight setkQ(double kQ) {
+        super.setkQ(kQ);
+        return this;
+    }
+
+    @Override
+    public AreaLight setMinIntensity(double minIntensity) {
+        super.setMinIntensity(minIntensity);
+        return this;
+    }
+
+    /**
+     * Gets a sample point on the light surface, as seen from a lit point.
+     *
+     * @param p the lit point.
+     * @param u the first grid coordinate of the sample, from 0 to 1.
+     * @param v the second grid coordinate of the sample, from 0 to 1.
+     * @return the sample point.
+     */
+    public abstract Point getSamplePoint(Point p, double u, double v);
+
+    /**
+     * Maps grid coordinates onto a disk, keeping the grid areas (concentric mapping).
+     * The corners of the grid are mapped to the rim of the disk.
+     *
+     * @param center the center of the disk.
+     * @param e1     the first unit vector of the disk plane.
+     * @param e2     the second unit vector of the disk plane, orthogonal to e1.
+     * @param radius the radius of the disk.
+     * @param u      the first grid coordinate, from 0 to 1.
+     * @param v      the second grid coordinate, from 0 to 1.
+     * @return the point on the disk.
+     */
+    protected static Point diskPoint(Point center, Vector e1, Vector e2, double radius, double u, double v) {
+        double a = 2 * u - 1, b = 2 * v - 1;
+        if (a == 0 && b == 0)
+            return center;
+        double r, phi;
+        if (Math.abs(a) > Math.abs(b)) {
+            r = a;
+            phi = Math.PI / 4 * (b / a);
+        } else {
+            r = b;
+            phi = Math.PI / 2 - Math.PI / 4 * (a / b);
+        }
+        r *= radius;
+        return new Vec3(center).scaleAdd(r * Math.cos(phi), e1).scaleAdd(r * Math.sin(phi), e2).toPoint();
+    }
+
+    /**
+     * Finds a unit vector orthogonal to a given vector.
+     *
+     * @param n the vector.
+     * @return an orthogonal unit vector.
+     */
+    protected static Vector orthogonal(Vector n) {
+        Double3 xyz = n.normalize().getXYZ();
+        // Cross with the axis that is the least parallel to n
+        Vector axis = Math.abs(xyz.getD1()) < 0.5 ? Vector.X : Vector.Y;
+        return n.crossProduct(axis).normalize();
+    }
+}
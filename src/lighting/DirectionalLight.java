@@ -28,7 +28,7 @@ public class DirectionalLight extends Light implements LightSource {
 
     @Override
     public Vector getL(Point p) {
-        return direction.normalize(); // The direction vector is normalized
+        return direction; // The direction vector is normalized in the constructor
     }
 
     @Override
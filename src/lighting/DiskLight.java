@@ -0,0 +1,46 @@
+package lighting;
+
+import primitives.*;
+
+/**
+ * A disk area light - a flat round light with a given orientation.
+ */
+public class DiskLight extends AreaLight {
+    /**
+     * The radius of the disk.
+     */
+    private final double radius;
+
+    /**
+     * The first unit vector of the disk plane.
+     */
+    private final Vector e1;
+
+    /**
+     * The second unit vector of the disk plane.
+     */
+    private final Vector e2;
+
+    /**
+     * Constructs a disk light with a given intensity, center, orientation and radius.
+     *
+     * @param intensity the intensity of the light.
+     * @param center    the center of the disk.
+     * @param normal    the normal of the disk plane.
+     * @param radius    the radius of the disk.
+     * @throws IllegalArgumentException if the radius is not positive.
+     */
+    public DiskLight(Color intensity, Point center, Vector normal, double radius) {
+        super(intensity, center);
+        if (Util.alignZero(radius) <= 0)
+            throw new IllegalArgumentException("The radius must be positive");
+        this.radius = radius;
+        this.e1 = orthogonal(normal);
+        this.e2 = normal.normalize().crossProduct(e1);
+    }
+
+    @Override
+    public Point getSamplePoint(Point p, double u, double v) {
+        return diskPoint(position, e1, e2, radius, u, v);
+    }
+}
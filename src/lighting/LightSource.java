@@ -31,4 +31,15 @@ public interface LightSource {
      * @return the distance between the light source and the given point.
      */
     public double getDistance(Point p);
+
+    /**
+     * Checks whether the light may contribute to a point - a light that can't reach the point
+     * is skipped before its shadow rays are traced.
+     *
+     * @param p the point.
+     * @return false if the light has no effect at the point, true if it may have.
+     */
+    default boolean reaches(Point p) {
+        return true;
+    }
 }
\ No newline at end of file
@@ -15,6 +15,17 @@ public class PointLight extends Light implements LightSource {
     private double kL = 0;
     private double kQ = 0;
 
+    /**
+     * The intensity below which the light is negligible, 0 for no cutoff.
+     */
+    protected double minIntensity = 0;
+
+    /**
+     * The squared influence radius - the squared distance beyond which the attenuated intensity is below
+     * the minimum intensity.
+     */
+    private double influenceRadiusSquared = Double.POSITIVE_INFINITY;
+
     /**
      * Constructs a point light with a given intensity and position.
      *
@@ -28,14 +39,22 @@ public class PointLight extends Light implements LightSource {
 
     @Override
     public Color getIntensity(Point p) {
-        double tempDistance = position.distance(p); // distance between the light source and the point
-        double denominator = kC + kL * tempDistance + kQ * (tempDistance * tempDistance);
-        return intensity.scale(1 / denominator);
+        return intensity.scale(1 / attenuation(position.distance(p)));
+    }
+
+    /**
+     * Calculates the attenuation of the light at a distance: kC + kL*d + kQ*d^2.
+     *
+     * @param distance the distance between the light source and the point.
+     * @return the attenuation - the intensity at the distance is the intensity of the light divided by it.
+     */
+    protected double attenuation(double distance) {
+        return kC + kL * distance + kQ * (distance * distance);
     }
 
     @Override
     public Vector getL(Point p) {
-        return p.subtract(position).normalize();
+        return new Vec3(p).subtract(position).normalize().toTrustedVector();
     }
 
     /**
@@ -46,6 +65,7 @@ public class PointLight extends Light implements LightSource {
      */
     public PointLight setkC(double kC) {
         this.kC = kC;
+        updateInfluenceRadius();
         return this;
     }
 
@@ -57,6 +77,7 @@ public class PointLight extends Light implements LightSource {
      */
     public PointLight setkL(double kL) {
         this.kL = kL;
+        updateInfluenceRadius();
         return this;
     }
 
@@ -68,9 +89,59 @@ public class PointLight extends Light implements LightSource {
      */
     public PointLight setkQ(double kQ) {
         this.kQ = kQ;
+        updateInfluenceRadius();
+        return this;
+    }
+
+    /**
+     * Setter for the minimum intensity of the light. The light is skipped at the points that are beyond its
+     * influence radius - the distance where its attenuated intensity drops below the minimum.
+     *
+     * @param minIntensity the intensity (per color component) below which the light is negligible,
+     *                     0 for no cutoff.
+     * @return the updated PointLight object.
+     * @throws IllegalArgumentException if the minimum intensity is negative.
+     */
+    public PointLight setMinIntensity(double minIntensity) {
+        if (minIntensity < 0)
+            throw new IllegalArgumentException("The minimum intensity cannot be negative");
+        this.minIntensity = minIntensity;
+        updateInfluenceRadius();
         return this;
     }
 
+    /**
+     * Getter for the influence radius of the light.
+     *
+     * @return the distance beyond which the light is negligible, infinity if there is no such distance.
+     */
+    public double getInfluenceRadius() {
+        return Math.sqrt(influenceRadiusSquared);
+    }
+
+    /**
+     * Calculates the influence radius - the distance r where the attenuated intensity drops to the minimum:
+     * kC + kL*r + kQ*r^2 = maxIntensity / minIntensity.
+     */
+    private void updateInfluenceRadius() {
+        double radius = Double.POSITIVE_INFINITY;
+        if (minIntensity > 0 && (kL > 0 || kQ > 0)) {
+            double c = kC - intensity.getMaxComponent() / minIntensity; // kQ*r^2 + kL*r + c = 0
+            if (c >= 0) // Negligible everywhere
+                radius = 0;
+            else if (kQ > 0)
+                radius = (-kL + Math.sqrt(kL * kL - 4 * kQ * c)) / (2 * kQ);
+            else
+                radius = -c / kL;
+        }
+        influenceRadiusSquared = radius * radius;
+    }
+
+    @Override
+    public boolean reaches(Point p) {
+        return position.distanceSquared(p) <= influenceRadiusSquared;
+    }
+
     /**
      * Setter for the position of the point light.
      *
@@ -0,0 +1,39 @@
+package lighting;
+
+import primitives.*;
+
+/**
+ * A rectangular area light - a parallelogram spanned by two edge vectors around its center.
+ */
+public class RectangleLight extends AreaLight {
+    /**
+     * The first edge of the rectangle.
+     */
+    private final Vector edgeU;
+
+    /**
+     * The second edge of the rectangle.
+     */
+    private final Vector edgeV;
+
+    /**
+     * Constructs a rectangular light with a given intensity, center and edges.
+     *
+     * @param intensity the intensity of the light.
+     * @param center    the center of the rectangle.
+     * @param edgeU     the first edge of the rectangle.
+     * @param edgeV     the second edge of the rectangle.
+     * @throws IllegalArgumentException if the edges are parallel.
+     */
+    public RectangleLight(Color intensity, Point center, Vector edgeU, Vector edgeV) {
+        super(intensity, center);
+        edgeU.crossProduct(edgeV); // Throws for parallel edges
+        this.edgeU = edgeU;
+        this.edgeV = edgeV;
+    }
+
+    @Override
+    public Point getSamplePoint(Point p, double u, double v) {
+        return new Vec3(position).scaleAdd(u - 0.5, edgeU).scaleAdd(v - 0.5, edgeV).toPoint();
+    }
+}
@@ -0,0 +1,39 @@
+package lighting;
+
+import primitives.*;
+
+/**
+ * A spherical area light. From any lit point, a sphere looks like a disk facing the point,
+ * so the samples are taken on the disk through the sphere center perpendicular to the point direction.
+ */
+public class SphereLight extends AreaLight {
+    /**
+     * The radius of the sphere.
+     */
+    private final double radius;
+
+    /**
+     * Constructs a spherical light with a given intensity, center and radius.
+     *
+     * @param intensity the intensity of the light.
+     * @param center    the center of the sphere.
+     * @param radius    the radius of the sphere.
+     * @throws IllegalArgumentException if the radius is not positive.
+     */
+    public SphereLight(Color intensity, Point center, double radius) {
+        super(intensity, center);
+        if (Util.alignZero(radius) <= 0)
+            throw new IllegalArgumentException("The radius must be positive");
+        this.radius = radius;
+    }
+
+    @Override
+    public Point getSamplePoint(Point p, double u, double v) {
+        if (p.equals(position)) // No direction from the center
+            return position;
+        Vector normal = p.subtract(position);
+        Vector e1 = orthogonal(normal);
+        Vector e2 = normal.normalize().crossProduct(e1);
+        return diskPoint(position, e1, e2, radius, u, v);
+    }
+}
@@ -53,9 +53,30 @@ public class SpotLight extends PointLight {
         return this;
     }
 
+    @Override
+    public SpotLight setMinIntensity(double minIntensity) {
+        super.setMinIntensity(minIntensity);
+        return this;
+    }
+
+    /**
+     * A spotlight doesn't reach the points behind it, and its intensity falls off with the angle from its direction
+     * as well as with the distance - a point off the axis is out of its influence closer than the influence radius,
+     * once the intensity there (scaled by the cosine of the angle) is below the minimum intensity.
+     */
+    @Override
+    public boolean reaches(Point p) {
+        if (!super.reaches(p))
+            return false;
+        Vec3 l = new Vec3(p).subtract(position);
+        double distance = l.length();
+        double dl = alignZero(l.dotProduct(this.direction) / distance); // l * dir, without normalizing l
+        return dl > 0 && dl * intensity.getMaxComponent() >= minIntensity * attenuation(distance);
+    }
+
     @Override
     public Color getIntensity(Point p) {
-        double dl = alignZero(getL(p).dotProduct(this.direction));
+        double dl = alignZero(new Vec3(p).subtract(position).normalize().dotProduct(this.direction)); // l * dir
         return dl <= 0 ? Color.BLACK : super.getIntensity(p).scale(dl);
     }
 
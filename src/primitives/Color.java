@@ -54,6 +54,29 @@ public class Color {
         this.rgb = rgb;
     }
 
+    /**
+     * Trusted constructor - the components are known to be non-negative
+     *
+     * @param rgb     triad of Red/Green/Blue components
+     * @param trusted marker of the trusted construction
+     */
+    private Color(Double3 rgb, boolean trusted) {
+        this.rgb = rgb;
+    }
+
+    /**
+     * Trusted factory for the internal hot paths - creates a color without checking for negative components.
+     * The caller guarantees that the components are non-negative. Users should use the validating constructor.
+     *
+     * @param r Red component
+     * @param g Green component
+     * @param b Blue component
+     * @return the color
+     */
+    public static Color trusted(double r, double g, double b) {
+        return new Color(new Double3(r, g, b), true);
+    }
+
     /**
      * Constructor on base of java.awt.Color object
      *
@@ -76,6 +99,15 @@ public class Color {
         return new java.awt.Color(ir > 255 ? 255 : ir, ig > 255 ? 255 : ig, ib > 255 ? 255 : ib);
     }
 
+    /**
+     * Getter for the RGB components, for the bulk color operations of the package
+     *
+     * @return triad of Red/Green/Blue components
+     */
+    Double3 rgb() {
+        return rgb;
+    }
+
     /**
      * Operation of adding this and one or more other colors (by component)
      *
@@ -91,7 +123,7 @@ public class Color {
             rg += c.rgb.d2;
             rb += c.rgb.d3;
         }
-        return new Color(rr, rg, rb);
+        return trusted(rr, rg, rb); // A sum of non-negative colors is non-negative
     }
 
     /**
@@ -103,7 +135,7 @@ public class Color {
     public Color scale(Double3 k) {
         if (k.d1 < 0.0 || k.d2 < 0.0 || k.d3 < 0.0)
             throw new IllegalArgumentException("Can't scale a color by a negative number");
-        return new Color(rgb.product(k));
+        return new Color(rgb.product(k), true);
     }
 
     /**
@@ -114,7 +146,7 @@ public class Color {
      */
     public Color scale(double k) {
         if (k < 0.0) throw new IllegalArgumentException("Can't scale a color by a negative number");
-        return new Color(rgb.scale(k));
+        return new Color(rgb.scale(k), true);
     }
 
     /**
@@ -125,7 +157,29 @@ public class Color {
      */
     public Color reduce(int k) {
         if (k < 1) throw new IllegalArgumentException("Can't scale a color by a by a number lower than 1");
-        return new Color(rgb.reduce(k));
+        return new Color(rgb.reduce(k), true);
+    }
+
+    /**
+     * Gets the largest component of the color
+     *
+     * @return the largest of the red, green and blue components
+     */
+    public double getMaxComponent() {
+        return Math.max(rgb.d1, Math.max(rgb.d2, rgb.d3));
+    }
+
+    /**
+     * Checks whether another color is close to this color
+     *
+     * @param other     the other color
+     * @param threshold the maximum difference per component
+     * @return true if no component differs by more than the threshold, false otherwise
+     */
+    public boolean isSimilar(Color other, double threshold) {
+        return Math.abs(rgb.d1 - other.rgb.d1) <= threshold
+                && Math.abs(rgb.d2 - other.rgb.d2) <= threshold
+                && Math.abs(rgb.d3 - other.rgb.d3) <= threshold;
     }
 
     @Override
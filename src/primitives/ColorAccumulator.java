@@ -0,0 +1,96 @@
+package primitives;
+
+/**
+ * Class ColorAccumulator is a mutable RGB sum for the shading loop of the ray tracer. The contributions of
+ * the lights and of the secondary rays are added into it in place, each scaled by its own factors, and the
+ * immutable {@link Color} is created only once for the final result. Like {@link Vec3} for the vector math,
+ * it keeps the inner loops free of temporary objects.
+ */
+public final class ColorAccumulator {
+    /**
+     * Red component.
+     */
+    public double r;
+
+    /**
+     * Green component.
+     */
+    public double g;
+
+    /**
+     * Blue component.
+     */
+    public double b;
+
+    /**
+     * Constructor for a black sum.
+     */
+    public ColorAccumulator() {
+    }
+
+    /**
+     * Clears the sum to black.
+     *
+     * @return this.
+     */
+    public ColorAccumulator reset() {
+        r = g = b = 0;
+        return this;
+    }
+
+    /**
+     * Adds a color.
+     *
+     * @param color the color.
+     * @return this.
+     */
+    public ColorAccumulator add(Color color) {
+        Double3 c = color.rgb();
+        r += c.d1;
+        g += c.d2;
+        b += c.d3;
+        return this;
+    }
+
+    /**
+     * Adds a color scaled by a triad of factors per rgb.
+     *
+     * @param color the color.
+     * @param k     the scale factors.
+     * @return this.
+     */
+    public ColorAccumulator add(Color color, Double3 k) {
+        return add(color, k.d1, k.d2, k.d3);
+    }
+
+    /**
+     * Adds a color scaled by factors per rgb.
+     *
+     * @param color the color.
+     * @param kr    the scale factor of the red component.
+     * @param kg    the scale factor of the green component.
+     * @param kb    the scale factor of the blue component.
+     * @return this.
+     */
+    public ColorAccumulator add(Color color, double kr, double kg, double kb) {
+        Double3 c = color.rgb();
+        r += c.d1 * kr;
+        g += c.d2 * kg;
+        b += c.d3 * kb;
+        return this;
+    }
+
+    /**
+     * Creates an immutable color of the sum. The factors of the contributions must be non-negative.
+     *
+     * @return the color.
+     */
+    public Color toColor() {
+        return Color.trusted(r, g, b);
+    }
+
+    @Override
+    public String toString() {
+        return "rgb:(" + r + "," + g + "," + b + ")";
+    }
+}
@@ -0,0 +1,218 @@
+package primitives;
+
+import java.util.Arrays;
+
+/**
+ * A buffer of many RGB colors, stored as one flat array of floats (r, g, b, r, g, b, ...).
+ * The bulk operations run as plain loops over the whole array, without a Color object per operation,
+ * so that the JIT compiler can unroll and vectorize them. It provides the bulk RGB operations - accumulation,
+ * scaling, clamping and packing to 8 bit pixels - that stages such as framebuffer accumulation, tone mapping
+ * and light summation could be built on. Like {@link Color}, the components are non-negative and have no upper limit.
+ * The components are kept in single precision to halve the memory of large frames - its 24 bit mantissa
+ * is far finer than the 8 bits per component of the final image.
+ */
+public class ColorBuffer {
+    /**
+     * The color components - 3 per color
+     */
+    private final float[] rgb;
+
+    /**
+     * Number of colors in the buffer
+     */
+    private final int size;
+
+    /**
+     * Constructor for a black buffer of the given number of colors.
+     *
+     * @param size the number of colors.
+     * @throws IllegalArgumentException if the size is negative.
+     */
+    public ColorBuffer(int size) {
+        if (size < 0) throw new IllegalArgumentException("Negative buffer size is illegal");
+        this.size = size;
+        rgb = new float[3 * size];
+    }
+
+    /**
+     * Getter for the number of colors.
+     *
+     * @return the number of colors.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Getter for a color of the buffer.
+     *
+     * @param i the index of the color.
+     * @return the color.
+     */
+    public Color get(int i) {
+        int k = 3 * i;
+        return Color.trusted(rgb[k], rgb[k + 1], rgb[k + 2]);
+    }
+
+    /**
+     * Setter for a color of the buffer.
+     *
+     * @param i     the index of the color.
+     * @param color the color.
+     * @return this buffer.
+     */
+    public ColorBuffer set(int i, Color color) {
+        Double3 c = color.rgb();
+        int k = 3 * i;
+        rgb[k] = (float) c.d1;
+        rgb[k + 1] = (float) c.d2;
+        rgb[k + 2] = (float) c.d3;
+        return this;
+    }
+
+    /**
+     * Adds a color to a color of the buffer.
+     *
+     * @param i     the index of the color.
+     * @param color the color to add.
+     * @return this buffer.
+     */
+    public ColorBuffer add(int i, Color color) {
+        Double3 c = color.rgb();
+        int k = 3 * i;
+        rgb[k] += (float) c.d1;
+        rgb[k + 1] += (float) c.d2;
+        rgb[k + 2] += (float) c.d3;
+        return this;
+    }
+
+    /**
+     * Fills the whole buffer with one color.
+     *
+     * @param color the color.
+     * @return this buffer.
+     */
+    public ColorBuffer fill(Color color) {
+        float r = (float) color.rgb().d1, g = (float) color.rgb().d2, b = (float) color.rgb().d3;
+        for (int k = 0; k < rgb.length; k += 3) {
+            rgb[k] = r;
+            rgb[k + 1] = g;
+            rgb[k + 2] = b;
+        }
+        return this;
+    }
+
+    /**
+     * Adds another buffer of the same size to this buffer (by component).
+     *
+     * @param other the other buffer.
+     * @return this buffer.
+     * @throws IllegalArgumentException if the buffers have different sizes.
+     */
+    public ColorBuffer add(ColorBuffer other) {
+        checkSize(other);
+        float[] o = other.rgb;
+        for (int k = 0; k < rgb.length; ++k)
+            rgb[k] += o[k];
+        return this;
+    }
+
+    /**
+     * Multiplies this buffer by another buffer of the same size (by component).
+     *
+     * @param other the other buffer.
+     * @return this buffer.
+     * @throws IllegalArgumentException if the buffers have different sizes.
+     */
+    public ColorBuffer product(ColorBuffer other) {
+        checkSize(other);
+        float[] o = other.rgb;
+        for (int k = 0; k < rgb.length; ++k)
+            rgb[k] *= o[k];
+        return this;
+    }
+
+    /**
+     * Scales all the colors by a scalar.
+     *
+     * @param k scale factor.
+     * @return this buffer.
+     * @throws IllegalArgumentException if the factor is negative.
+     */
+    public ColorBuffer scale(double k) {
+        if (k < 0.0) throw new IllegalArgumentException("Can't scale a color by a negative number");
+        float f = (float) k;
+        for (int i = 0; i < rgb.length; ++i)
+            rgb[i] *= f;
+        return this;
+    }
+
+    /**
+     * Scales all the colors by a scalar triad per rgb.
+     *
+     * @param k scale factor per rgb.
+     * @return this buffer.
+     * @throws IllegalArgumentException if a factor is negative.
+     */
+    public ColorBuffer scale(Double3 k) {
+        if (k.d1 < 0.0 || k.d2 < 0.0 || k.d3 < 0.0)
+            throw new IllegalArgumentException("Can't scale a color by a negative number");
+        float kr = (float) k.d1, kg = (float) k.d2, kb = (float) k.d3;
+        for (int i = 0; i < rgb.length; i += 3) {
+            rgb[i] *= kr;
+            rgb[i + 1] *= kg;
+            rgb[i + 2] *= kb;
+        }
+        return this;
+    }
+
+    /**
+     * Clamps all the components to an upper limit.
+     *
+     * @param max the upper limit.
+     * @return this buffer.
+     */
+    public ColorBuffer clamp(double max) {
+        float f = (float) max;
+        for (int i = 0; i < rgb.length; ++i)
+            rgb[i] = Math.min(rgb[i], f);
+        return this;
+    }
+
+    /**
+     * Converts the colors into packed 0xRRGGBB integers, like {@link Color#getColor()} -
+     * the components are truncated and any component bigger than 255 is set to 255.
+     *
+     * @param packed the target array, at least of the buffer size.
+     * @return the target array.
+     */
+    public int[] toPackedRGB(int[] packed) {
+        for (int i = 0, k = 0; i < size; ++i, k += 3) {
+            int r = Math.min((int) rgb[k], 255);
+            int g = Math.min((int) rgb[k + 1], 255);
+            int b = Math.min((int) rgb[k + 2], 255);
+            packed[i] = (r << 16) | (g << 8) | b;
+        }
+        return packed;
+    }
+
+    /**
+     * Sets all the colors to black.
+     *
+     * @return this buffer.
+     */
+    public ColorBuffer clear() {
+        Arrays.fill(rgb, 0f);
+        return this;
+    }
+
+    /**
+     * Checks that another buffer has the same size as this buffer.
+     *
+     * @param other the other buffer.
+     * @throws IllegalArgumentException if the sizes are different.
+     */
+    private void checkSize(ColorBuffer other) {
+        if (other.size != size) throw new IllegalArgumentException("Color buffers of different sizes");
+    }
+}
@@ -29,6 +29,18 @@ public class Material {
      */
     public int nShininess = 0;
 
+    /**
+     * The glossiness of the reflection - the half-angle, in degrees, of the cone of the reflected rays
+     * around the ideal reflection direction. 0 is a perfect mirror.
+     */
+    public double glossiness = 0;
+
+    /**
+     * The blurriness of the refraction - the half-angle, in degrees, of the cone of the refracted rays
+     * around the ideal refraction direction. 0 is a perfectly clear material.
+     */
+    public double blurriness = 0;
+
     /**
      * Setter to kD with Double3 parameter.
      *
@@ -127,4 +139,41 @@ public class Material {
         this.nShininess = nShininess;
         return this;
     }
-}
\ No newline at end of file
+
+    /**
+     * Setter to glossiness.
+     *
+     * @param glossiness the half-angle of the cone of the reflected rays, in degrees.
+     * @return this.
+     * @throws IllegalArgumentException if the angle is not between 0 and 90 degrees.
+     */
+    public Material setGlossiness(double glossiness) {
+        this.glossiness = checkConeAngle(glossiness);
+        return this;
+    }
+
+    /**
+     * Setter to blurriness.
+     *
+     * @param blurriness the half-angle of the cone of the refracted rays, in degrees.
+     * @return this.
+     * @throws IllegalArgumentException if the angle is not between 0 and 90 degrees.
+     */
+    public Material setBlurriness(double blurriness) {
+        this.blurriness = checkConeAngle(blurriness);
+        return this;
+    }
+
+    /**
+     * Checks the half-angle of a cone of secondary rays.
+     *
+     * @param degrees the angle.
+     * @return the angle.
+     * @throws IllegalArgumentException if the angle is not between 0 and 90 degrees.
+     */
+    private static double checkConeAngle(double degrees) {
+        if (degrees < 0 || degrees >= 90)
+            throw new IllegalArgumentException("The cone angle must be at least 0 and lower than 90 degrees");
+        return degrees;
+    }
+}
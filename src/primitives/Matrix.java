@@ -0,0 +1,227 @@
+package primitives;
+
+import java.util.Arrays;
+
+import static primitives.Util.isZero;
+
+/**
+ * Class Matrix is an immutable affine transformation of the 3D space - a 3x4 matrix, which is
+ * a 4x4 matrix whose last row is always (0, 0, 0, 1). The first 3 columns are the linear part
+ * (rotation, scaling and shearing) and the 4th column is the translation.
+ */
+public final class Matrix {
+    /**
+     * The identity transformation
+     */
+    public static final Matrix IDENTITY = new Matrix(
+            1, 0, 0, 0,
+            0, 1, 0, 0,
+            0, 0, 1, 0);
+
+    /**
+     * The matrix elements, row by row - 4 per row
+     */
+    private final double[] m;
+
+    /**
+     * Constructor by the 12 elements of the matrix, row by row.
+     *
+     * @param m00 row 0, column 0.
+     * @param m01 row 0, column 1.
+     * @param m02 row 0, column 2.
+     * @param m03 row 0, column 3 (translation x).
+     * @param m10 row 1, column 0.
+     * @param m11 row 1, column 1.
+     * @param m12 row 1, column 2.
+     * @param m13 row 1, column 3 (translation y).
+     * @param m20 row 2, column 0.
+     * @param m21 row 2, column 1.
+     * @param m22 row 2, column 2.
+     * @param m23 row 2, column 3 (translation z).
+     */
+    public Matrix(double m00, double m01, double m02, double m03,
+                  double m10, double m11, double m12, double m13,
+                  double m20, double m21, double m22, double m23) {
+        this(new double[]{m00, m01, m02, m03, m10, m11, m12, m13, m20, m21, m22, m23});
+    }
+
+    /**
+     * Constructor by the array of the elements - the array is owned by the matrix.
+     *
+     * @param m the matrix elements, row by row.
+     */
+    private Matrix(double[] m) {
+        this.m = m;
+    }
+
+    /**
+     * Creates a translation.
+     *
+     * @param offset the translation vector.
+     * @return the matrix.
+     */
+    public static Matrix translation(Vector offset) {
+        Double3 t = offset.xyz;
+        return new Matrix(
+                1, 0, 0, t.d1,
+                0, 1, 0, t.d2,
+                0, 0, 1, t.d3);
+    }
+
+    /**
+     * Creates a scaling along the axes.
+     *
+     * @param sx the scale factor along x.
+     * @param sy the scale factor along y.
+     * @param sz the scale factor along z.
+     * @return the matrix.
+     * @throws IllegalArgumentException if a factor is zero.
+     */
+    public static Matrix scaling(double sx, double sy, double sz) {
+        if (isZero(sx) || isZero(sy) || isZero(sz))
+            throw new IllegalArgumentException("Scale factor cannot be zero");
+        return new Matrix(
+                sx, 0, 0, 0,
+                0, sy, 0, 0,
+                0, 0, sz, 0);
+    }
+
+    /**
+     * Creates a rotation around an axis through the origin (right-hand rule).
+     *
+     * @param axis    the rotation axis.
+     * @param degrees the rotation angle in degrees.
+     * @return the matrix.
+     */
+    public static Matrix rotation(Vector axis, double degrees) {
+        Double3 a = axis.normalize().xyz;
+        double x = a.d1, y = a.d2, z = a.d3;
+        double angle = Math.toRadians(degrees);
+        double c = Math.cos(angle), s = Math.sin(angle), t = 1 - c;
+        return new Matrix(
+                t * x * x + c, t * x * y - s * z, t * x * z + s * y, 0,
+                t * x * y + s * z, t * y * y + c, t * y * z - s * x, 0,
+                t * x * z - s * y, t * y * z + s * x, t * z * z + c, 0);
+    }
+
+    /**
+     * Composes two transformations: the result applies the other transformation first, then this one.
+     *
+     * @param other the other transformation.
+     * @return the product this * other.
+     */
+    public Matrix multiply(Matrix other) {
+        double[] a = this.m, b = other.m;
+        double[] r = new double[12];
+        for (int row = 0; row < 3; ++row) {
+            int i = 4 * row;
+            for (int col = 0; col < 4; ++col)
+                r[i + col] = a[i] * b[col] + a[i + 1] * b[4 + col] + a[i + 2] * b[8 + col];
+            r[i + 3] += a[i + 3]; // The implicit last row (0, 0, 0, 1) of the other matrix
+        }
+        return new Matrix(r);
+    }
+
+    /**
+     * Calculates the inverse transformation.
+     *
+     * @return the inverse matrix.
+     * @throws IllegalArgumentException if the transformation is singular.
+     */
+    public Matrix inverse() {
+        double a = m[0], b = m[1], c = m[2];
+        double d = m[4], e = m[5], f = m[6];
+        double g = m[8], h = m[9], k = m[10];
+        // The cofactors of the linear part
+        double c00 = e * k - f * h, c01 = f * g - d * k, c02 = d * h - e * g;
+        double det = a * c00 + b * c01 + c * c02;
+        if (isZero(det))
+            throw new IllegalArgumentException("Singular transformation cannot be inverted");
+        double inv = 1 / det;
+
+        double i00 = c00 * inv, i01 = (c * h - b * k) * inv, i02 = (b * f - c * e) * inv;
+        double i10 = c01 * inv, i11 = (a * k - c * g) * inv, i12 = (c * d - a * f) * inv;
+        double i20 = c02 * inv, i21 = (b * g - a * h) * inv, i22 = (a * e - b * d) * inv;
+        double tx = m[3], ty = m[7], tz = m[11];
+        // The inverse translation is -inverse(linear) * translation
+        return new Matrix(
+                i00, i01, i02, -(i00 * tx + i01 * ty + i02 * tz),
+                i10, i11, i12, -(i10 * tx + i11 * ty + i12 * tz),
+                i20, i21, i22, -(i20 * tx + i21 * ty + i22 * tz));
+    }
+
+    /**
+     * Creates the transposed linear part of the transformation, without translation.
+     * The transposed inverse transforms the normals of a transformed surface.
+     *
+     * @return the transposed linear part.
+     */
+    public Matrix transposeLinear() {
+        return new Matrix(
+                m[0], m[4], m[8], 0,
+                m[1], m[5], m[9], 0,
+                m[2], m[6], m[10], 0);
+    }
+
+    /**
+     * Transforms a point in place.
+     *
+     * @param p the point coordinates.
+     * @return the transformed point (the same object).
+     */
+    public Vec3 transformPoint(Vec3 p) {
+        double x = p.x, y = p.y, z = p.z;
+        return p.set(m[0] * x + m[1] * y + m[2] * z + m[3],
+                m[4] * x + m[5] * y + m[6] * z + m[7],
+                m[8] * x + m[9] * y + m[10] * z + m[11]);
+    }
+
+    /**
+     * Transforms a direction in place - only the linear part applies.
+     *
+     * @param v the direction coordinates.
+     * @return the transformed direction (the same object).
+     */
+    public Vec3 transformVector(Vec3 v) {
+        double x = v.x, y = v.y, z = v.z;
+        return v.set(m[0] * x + m[1] * y + m[2] * z,
+                m[4] * x + m[5] * y + m[6] * z,
+                m[8] * x + m[9] * y + m[10] * z);
+    }
+
+    /**
+     * Transforms a point.
+     *
+     * @param p the point.
+     * @return the transformed point.
+     */
+    public Point transformPoint(Point p) {
+        return transformPoint(new Vec3(p)).toPoint();
+    }
+
+    /**
+     * Transforms a direction - only the linear part applies.
+     *
+     * @param v the direction.
+     * @return the transformed direction.
+     */
+    public Vector transformVector(Vector v) {
+        return transformVector(new Vec3(v)).toVector();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        return obj instanceof Matrix other && Arrays.equals(m, other.m);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(m);
+    }
+
+    @Override
+    public String toString() {
+        return "Matrix" + Arrays.toString(m);
+    }
+}
@@ -60,8 +60,7 @@ public class Point {
      * @return a point that is the result of the addition of the vector to the point.
      */
     public Point add(Vector vec) {
-        Double3 temp = this.xyz.add(vec.xyz);
-        return new Point(temp.d1, temp.d2, temp.d3);
+        return new Point(this.xyz.add(vec.xyz));
     }
 
     /**
@@ -71,8 +70,7 @@ public class Point {
      * @return the vector that is the result of the subtraction of the point from the current point.
      */
     public Vector subtract(Point point) {
-        Double3 temp = this.xyz.subtract(point.xyz);
-        return new Vector(temp.d1, temp.d2, temp.d3);
+        return new Vector(this.xyz.subtract(point.xyz));
     }
 
     /**
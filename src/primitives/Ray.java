@@ -39,12 +39,61 @@ public class Ray {
      * @param normal the normal vector to the point.
      */
     public Ray(Point p0, Vector dir, Vector normal) {
-        double nd = normal.dotProduct(dir);
-        Vector epsVector = normal.scale(nd >= 0 ? DELTA : -DELTA);
-        head = p0.add(epsVector);
+        head = shiftedHead(p0, dir, normal);
         direction = dir.normalize();
     }
 
+    /**
+     * Private constructor for the trusted factories - no normalization.
+     *
+     * @param head      the head of the ray.
+     * @param direction the normalized direction of the ray.
+     * @param trusted   marker of the trusted construction.
+     */
+    private Ray(Point head, Vector direction, boolean trusted) {
+        this.head = head;
+        this.direction = direction;
+    }
+
+    /**
+     * Trusted factory for the internal hot paths - creates a ray without normalizing its direction.
+     * The caller guarantees that the direction is already normalized.
+     *
+     * @param head          the head of the ray.
+     * @param unitDirection the normalized direction of the ray.
+     * @return the ray.
+     */
+    public static Ray trusted(Point head, Vector unitDirection) {
+        return new Ray(head, unitDirection, true);
+    }
+
+    /**
+     * Trusted factory for the internal hot paths - creates a ray shifted by the normal, like
+     * {@link #Ray(Point, Vector, Vector)}, without normalizing its direction.
+     * The caller guarantees that the direction is already normalized.
+     *
+     * @param p0            the point the ray is shifted from.
+     * @param unitDirection the normalized direction of the ray.
+     * @param normal        the normal vector to the point.
+     * @return the ray.
+     */
+    public static Ray trusted(Point p0, Vector unitDirection, Vector normal) {
+        return new Ray(shiftedHead(p0, unitDirection, normal), unitDirection, true);
+    }
+
+    /**
+     * Shifts a point by DELTA along the normal, to the side of the direction.
+     *
+     * @param p0     the point.
+     * @param dir    the direction of the ray.
+     * @param normal the normal vector to the point.
+     * @return the shifted point.
+     */
+    private static Point shiftedHead(Point p0, Vector dir, Vector normal) {
+        double nd = normal.dotProduct(dir);
+        return new Vec3(p0).scaleAdd(nd >= 0 ? DELTA : -DELTA, normal).toPoint(); // p0 + eps * normal
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -93,8 +142,9 @@ public class Ray {
         if (Util.isZero(t)) { // If t is zero
             return this.head;
         }
-        Vector vec = this.direction.scale(t);
-        return this.head.add(vec);
+        Double3 p0 = this.head.xyz;
+        Double3 v = this.direction.xyz;
+        return new Point(p0.d1 + t * v.d1, p0.d2 + t * v.d2, p0.d3 + t * v.d3); // p0 + t*v, no temporary vector
     }
 
     /**
@@ -0,0 +1,210 @@
+package primitives;
+
+/**
+ * Class Vec3 is a mutable triad of coordinates for the internal vector math of the hot paths
+ * (the ray tracer, the geometry kernels and the lights). All the operations work in place and return
+ * this object, so a calculation chain allocates nothing but the scratch object itself - which the JIT
+ * usually eliminates when it does not escape. The immutable {@link Point} and {@link Vector} remain
+ * the public API.
+ */
+public final class Vec3 {
+    /**
+     * x coordinate.
+     */
+    public double x;
+
+    /**
+     * y coordinate.
+     */
+    public double y;
+
+    /**
+     * z coordinate.
+     */
+    public double z;
+
+    /**
+     * Constructor for a zero triad.
+     */
+    public Vec3() {
+    }
+
+    /**
+     * Constructor by 3 coordinates.
+     *
+     * @param x x coordinate.
+     * @param y y coordinate.
+     * @param z z coordinate.
+     */
+    public Vec3(double x, double y, double z) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+    }
+
+    /**
+     * Constructor by the coordinates of a point (or a vector).
+     *
+     * @param point the point.
+     */
+    public Vec3(Point point) {
+        set(point);
+    }
+
+    /**
+     * Sets the coordinates.
+     *
+     * @param x x coordinate.
+     * @param y y coordinate.
+     * @param z z coordinate.
+     * @return this.
+     */
+    public Vec3 set(double x, double y, double z) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        return this;
+    }
+
+    /**
+     * Sets the coordinates to those of a point (or a vector).
+     *
+     * @param point the point.
+     * @return this.
+     */
+    public Vec3 set(Point point) {
+        Double3 xyz = point.xyz;
+        return set(xyz.d1, xyz.d2, xyz.d3);
+    }
+
+    /**
+     * Adds a point (or a vector) to this triad.
+     *
+     * @param point the point.
+     * @return this.
+     */
+    public Vec3 add(Point point) {
+        Double3 xyz = point.xyz;
+        return set(x + xyz.d1, y + xyz.d2, z + xyz.d3);
+    }
+
+    /**
+     * Subtracts a point (or a vector) from this triad.
+     *
+     * @param point the point.
+     * @return this.
+     */
+    public Vec3 subtract(Point point) {
+        Double3 xyz = point.xyz;
+        return set(x - xyz.d1, y - xyz.d2, z - xyz.d3);
+    }
+
+    /**
+     * Multiplies this triad by a scalar.
+     *
+     * @param scalar the scalar.
+     * @return this.
+     */
+    public Vec3 scale(double scalar) {
+        return set(x * scalar, y * scalar, z * scalar);
+    }
+
+    /**
+     * Adds a scaled vector to this triad: this = this + scalar * vec.
+     *
+     * @param scalar the scalar.
+     * @param vec    the vector.
+     * @return this.
+     */
+    public Vec3 scaleAdd(double scalar, Vector vec) {
+        Double3 xyz = vec.xyz;
+        return set(x + scalar * xyz.d1, y + scalar * xyz.d2, z + scalar * xyz.d3);
+    }
+
+    /**
+     * Sets this triad to the cross product of two vectors.
+     *
+     * @param u the left operand.
+     * @param v the right operand.
+     * @return this.
+     */
+    public Vec3 cross(Vector u, Vector v) {
+        Double3 a = u.xyz;
+        Double3 b = v.xyz;
+        return set(a.d2 * b.d3 - a.d3 * b.d2, a.d3 * b.d1 - a.d1 * b.d3, a.d1 * b.d2 - a.d2 * b.d1);
+    }
+
+    /**
+     * Scalar product with a vector.
+     *
+     * @param vec the vector.
+     * @return the scalar product.
+     */
+    public double dotProduct(Vector vec) {
+        Double3 xyz = vec.xyz;
+        return x * xyz.d1 + y * xyz.d2 + z * xyz.d3;
+    }
+
+    /**
+     * Calculate the length of the triad squared.
+     *
+     * @return the length squared.
+     */
+    public double lengthSquared() {
+        return x * x + y * y + z * z;
+    }
+
+    /**
+     * Calculate the length of the triad.
+     *
+     * @return the length.
+     */
+    public double length() {
+        return Math.sqrt(lengthSquared());
+    }
+
+    /**
+     * Normalizes this triad. The triad must not be zero.
+     * Each coordinate is divided by the length, as by {@link Vector#normalize()}, so both give the same vector.
+     *
+     * @return this.
+     */
+    public Vec3 normalize() {
+        double length = length();
+        return set(x / length, y / length, z / length);
+    }
+
+    /**
+     * Creates an immutable point with the coordinates of this triad.
+     *
+     * @return the point.
+     */
+    public Point toPoint() {
+        return new Point(x, y, z);
+    }
+
+    /**
+     * Creates an immutable vector with the coordinates of this triad.
+     *
+     * @return the vector.
+     * @throws IllegalArgumentException if the triad is zero.
+     */
+    public Vector toVector() {
+        return new Vector(x, y, z);
+    }
+
+    /**
+     * Creates an immutable vector with the coordinates of this triad, without the zero check.
+     * The caller guarantees that the triad is not zero.
+     *
+     * @return the vector.
+     */
+    public Vector toTrustedVector() {
+        return Vector.trusted(x, y, z);
+    }
+
+    @Override
+    public String toString() {
+        return "Vec3{" + x + ", " + y + ", " + z + '}';
+    }
+}
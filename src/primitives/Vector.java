@@ -30,8 +30,7 @@ public class Vector extends Point {
      */
     public Vector(double x, double y, double z) {
         super(x, y, z);
-        Double3 isZero = new Double3(x, y, z);
-        if (isZero.equals(Double3.ZERO))
+        if (Util.isZero(x) && Util.isZero(y) && Util.isZero(z))
             throw new IllegalArgumentException("Vector 0 is illegal");
     }
 
@@ -42,11 +41,35 @@ public class Vector extends Point {
      * @param xyz variable of type Double3 which represent the coordinate of the Vector.
      */
     public Vector(final Double3 xyz) {
+        this(xyz, true);
+    }
+
+    /**
+     * Constructor for vector by a Double3 parameter, with optional validation.
+     *
+     * @param xyz     variable of type Double3 which represent the coordinate of the Vector.
+     * @param checked whether to check that the vector is not zero.
+     */
+    private Vector(final Double3 xyz, boolean checked) {
         super(xyz);
-        if (xyz.equals(Double3.ZERO))
+        if (checked && xyz.equals(Double3.ZERO))
             throw new IllegalArgumentException("Vector 0 is illegal");
     }
 
+    /**
+     * Trusted factory for the internal hot paths - creates a vector without the zero check.
+     * The caller guarantees that the vector is not zero, e.g. when it is a result of a normalization.
+     * Users should use the validating constructors.
+     *
+     * @param x coordinate x.
+     * @param y coordinate y.
+     * @param z coordinate z.
+     * @return the vector.
+     */
+    public static Vector trusted(double x, double y, double z) {
+        return new Vector(new Double3(x, y, z), false);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -139,19 +162,8 @@ public class Vector extends Point {
      * @return the normalized vector.
      */
     public Vector normalize() {
-        Double3 temp = this.xyz;
-        double x = temp.d1 / this.length();
-        double y = temp.d2 / this.length();
-        double z = temp.d3 / this.length();
-
-        Vector vec; // The normalized vector
-        try {
-            vec = new Vector(x, y, z); // Create the normalized vector
-        } catch (IllegalArgumentException ex) {
-            return null;
-        }
-
-        return vec; // Return the normalized vector
+        double length = this.length(); // Never zero - the constructors don't allow a zero vector
+        return new Vector(this.xyz.reduce(length), false); // A unit vector is never zero
     }
 
     /**
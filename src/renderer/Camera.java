@@ -1,5 +1,6 @@
 package renderer;
 
+import geometries.IntersectionProfiler;
 import primitives.*;
 
 import java.util.MissingResourceException;
@@ -17,6 +18,60 @@ public class Camera implements Cloneable {
     ImageWriter imageWriter;
     RayTracerBase rayTracer;
 
+    /**
+     * Maximum depth of the adaptive supersampling subdivision, 0 for a single ray through the pixel center.
+     */
+    private int adaptiveDepth = 0;
+
+    /**
+     * Maximum difference of a color component between the corners of a pixel (or a sub-pixel) that
+     * is not subdivided by the adaptive supersampling.
+     */
+    private double adaptiveThreshold = 0;
+
+    /**
+     * The multi-sample pattern of the pixels, null for a single ray through the pixel center.
+     */
+    private PixelSampler pixelSampler = null;
+
+    /**
+     * The number of the first lens samples of a point of the view plane, which decide whether
+     * all the lens samples are traced.
+     */
+    private static final int LENS_PROBES = 4;
+
+    /**
+     * The number of the pixels whose rays are traced together, by a tracer that processes the rays in stages.
+     */
+    private static final int BATCH_SIZE = 4096;
+
+    /**
+     * The radius of the lens aperture, 0 for a pinhole camera (no depth of field).
+     */
+    private double apertureRadius = 0;
+
+    /**
+     * The distance from the camera to the focal plane, along the camera direction.
+     */
+    private double focalDistance = 0;
+
+    /**
+     * The number of the lens samples of a point of the view plane whose probes differ.
+     */
+    private int apertureSamples = 32;
+
+    /**
+     * Maximum difference of a color component between the lens probes of a point of the view plane
+     * whose other lens samples are not traced.
+     */
+    private double apertureThreshold = 1;
+
+    /**
+     * The lens samples - the x and y offsets of each sample on the unit disk of the aperture, the probes first.
+     * Calculated once by the builder, null for a pinhole camera.
+     */
+    private double[] lensTable = null;
+
     /**
      * Constructs a Camera object with default values.
      */
@@ -55,20 +110,115 @@ public class Camera implements Cloneable {
      * @return a Ray object representing the ray passing through the pixel (i, j)
      */
     public Ray constructRay(int nX, int nY, int j, int i) {
-        Point pIJ = p0.add(vTo.scale(distance)); // Calculate the intersection point of the ray with the view plane
-
         double rX = width / nX; // Calculate the width of a pixel
         double rY = height / nY; // Calculate the height of a pixel
         double xJ = (j - (nX - 1) / 2.0) * rX; // Calculate the x coordinate of the pixel's center
         double yI = (i - (nY - 1) / 2.0) * rY; // Calculate the y coordinate of the pixel's center
-        if (!isZero(xJ)) { // If the x coordinate is not zero
-            pIJ = pIJ.add(vRight.scale(xJ));
+        return constructRay(xJ, yI); // The ray from the camera through the pixel's center
+    }
+
+    /**
+     * Constructs a ray through a point of the view plane.
+     *
+     * @param x the offset of the point from the view plane center to the right.
+     * @param y the offset of the point from the view plane center downwards.
+     * @return the ray from the camera through the point.
+     */
+    private Ray constructRay(double x, double y) {
+        Vec3 pIJ = new Vec3(p0).scaleAdd(distance, vTo); // The view plane center
+        if (!isZero(x)) { // If the x coordinate is not zero
+            pIJ.scaleAdd(x, vRight);
+        }
+        if (!isZero(y)) { // If the y coordinate is not zero
+            pIJ.scaleAdd(-y, vUp);
+        }
+        return Ray.trusted(p0, pIJ.subtract(p0).normalize().toTrustedVector()); // Through the point of the view plane
+    }
+
+    /**
+     * Traces a ray through a point of the view plane.
+     *
+     * @param x the offset of the point from the view plane center to the right.
+     * @param y the offset of the point from the view plane center downwards.
+     * @return the color of the ray.
+     */
+    private Color traceRay(double x, double y) {
+        return lensTable == null ? rayTracer.traceRay(constructRay(x, y)) : traceLens(x, y);
+    }
+
+    /**
+     * Traces the rays from the lens aperture through the focal point of a point of the view plane (thin lens).
+     * The probes of the lens are traced first, and the other lens samples are traced only if the probe colors
+     * differ - the points in focus, and the uniform areas out of focus, cost only the probes.
+     *
+     * @param x the offset of the point from the view plane center to the right.
+     * @param y the offset of the point from the view plane center downwards.
+     * @return the average color of the lens rays.
+     */
+    private Color traceLens(double x, double y) {
+        Ray pinhole = constructRay(x, y);
+        Vector direction = pinhole.getDirection();
+        // The vector from the camera location to the point of the focal plane on the pinhole ray
+        Vec3 focal = new Vec3().scaleAdd(focalDistance / direction.dotProduct(vTo), direction);
+
+        ColorAccumulator sum = new ColorAccumulator();
+        Color first = traceLens(focal, lensTable[0], lensTable[1]);
+        sum.add(first);
+        boolean similar = true;
+        for (int s = 2; s < 2 * LENS_PROBES; s += 2) {
+            Color probe = traceLens(focal, lensTable[s], lensTable[s + 1]);
+            similar &= first.isSimilar(probe, apertureThreshold);
+            sum.add(probe);
         }
-        if (!isZero(yI)) { // If the y coordinate is not zero
-            pIJ = pIJ.add(vUp.scale(-yI));
+        int count = LENS_PROBES;
+        if (!similar) {
+            for (int s = 2 * LENS_PROBES; s < lensTable.length; s += 2)
+                sum.add(traceLens(focal, lensTable[s], lensTable[s + 1]));
+            count = lensTable.length / 2;
         }
+        return sum.toColor().reduce(count);
+    }
 
-        return new Ray(p0, pIJ.subtract(p0)); // Return the ray from the camera
+    /**
+     * Traces a ray from a point of the lens aperture through a focal point.
+     *
+     * @param focal the vector from the camera location to the focal point.
+     * @param u     the offset of the lens point on the unit disk of the aperture to the right.
+     * @param v     the offset of the lens point on the unit disk of the aperture upwards.
+     * @return the color of the ray.
+     */
+    private Color traceLens(Vec3 focal, double u, double v) {
+        double right = u * apertureRadius, up = v * apertureRadius;
+        Point lensPoint = new Vec3(p0).scaleAdd(right, vRight).scaleAdd(up, vUp).toPoint();
+        Vec3 direction = new Vec3(focal.x, focal.y, focal.z).scaleAdd(-right, vRight).scaleAdd(-up, vUp);
+        return rayTracer.traceRay(Ray.trusted(lensPoint, direction.normalize().toTrustedVector()));
+    }
+
+    /**
+     * Calculates the lens samples on the unit disk of the aperture: 4 probes, one in each quarter of the lens,
+     * followed by the samples spread evenly over the lens by the golden angle spiral.
+     *
+     * @param samples the number of the spiral samples.
+     * @return the x and y offsets of each sample.
+     */
+    private static double[] lensTable(int samples) {
+        double[] table = new double[2 * (LENS_PROBES + samples)];
+        double probe = 0.5; // The probes are on the circle of radius sqrt(0.5), which halves the lens area
+        table[0] = probe;
+        table[1] = probe;
+        table[2] = -probe;
+        table[3] = probe;
+        table[4] = -probe;
+        table[5] = -probe;
+        table[6] = probe;
+        table[7] = -probe;
+        double goldenAngle = Math.PI * (3 - Math.sqrt(5));
+        for (int s = 0; s < samples; s++) {
+            double r = Math.sqrt((s + 0.5) / samples), phi = s * goldenAngle;
+            table[2 * (LENS_PROBES + s)] = r * Math.cos(phi);
+            table[2 * (LENS_PROBES + s) + 1] = r * Math.sin(phi);
+        }
+        return table;
     }
 
     /**
@@ -186,11 +336,122 @@ public class Camera implements Cloneable {
             throw new MissingResourceException("RayTracer", "RayTracer", "RayTracer is missing");
         }
 
-        Ray ray = constructRay(nX, nY, j, i); // Construct a ray for the pixel
-        Color color = rayTracer.traceRay(ray); // Trace the ray and get the color
+        Color color;
+        if (pixelSampler != null) { // Average the samples of the pixel
+            double rX = width / nX, rY = height / nY;
+            double xJ = (j - (nX - 1) / 2.0) * rX, yI = (i - (nY - 1) / 2.0) * rY; // The pixel's center
+            double[] offsets = pixelSampler.getOffsets(j, i);
+            double k = 1.0 / pixelSampler.getSamples();
+            ColorAccumulator sum = new ColorAccumulator();
+            for (int s = 0; s < offsets.length; s += 2)
+                sum.add(traceRay(xJ + offsets[s] * rX, yI + offsets[s + 1] * rY), k, k, k);
+            color = sum.toColor();
+        } else if (adaptiveDepth == 0 && lensTable != null) { // Trace the lens rays through the pixel's center
+            color = traceRay((j - (nX - 1) / 2.0) * width / nX, (i - (nY - 1) / 2.0) * height / nY);
+        } else if (adaptiveDepth == 0) {
+            Ray ray = constructRay(nX, nY, j, i); // Construct a ray for the pixel
+            color = rayTracer.traceRay(ray); // Trace the ray and get the color
+        } else { // Trace the corners of the pixel and subdivide it where they differ
+            double rX = width / nX, rY = height / nY;
+            double x = (j - nX / 2.0) * rX, y = (i - nY / 2.0) * rY; // The upper left corner of the pixel
+            ColorAccumulator sum = new ColorAccumulator();
+            sampleAdaptive(x, y, rX, rY, traceRay(x, y), traceRay(x + rX, y), traceRay(x, y + rY),
+                    traceRay(x + rX, y + rY), adaptiveDepth, 1, sum);
+            color = sum.toColor();
+        }
         imageWriter.writePixel(j, i, color); // Write the color to the pixel
     }
 
+    /**
+     * Renders the image by a single ray through each pixel, tracing the rays of consecutive pixels in batches.
+     *
+     * @param nX total number of pixels in width.
+     * @param nY total number of pixels in height.
+     */
+    private void renderBatches(int nX, int nY) {
+        int pixels = nX * nY;
+        Ray[] rays = new Ray[Math.min(BATCH_SIZE, pixels)];
+        Color[] colors = new Color[rays.length];
+        for (int first = 0; first < pixels; first += rays.length) {
+            int count = Math.min(rays.length, pixels - first);
+            for (int p = 0; p < count; p++) // Construct the rays of the pixels, row by row
+                rays[p] = constructRay(nX, nY, (first + p) % nX, (first + p) / nX);
+            rayTracer.traceRays(rays, colors, count);
+            for (int p = 0; p < count; p++)
+                imageWriter.writePixel((first + p) % nX, (first + p) / nX, colors[p]);
+        }
+    }
+
+    /**
+     * Renders the image with adaptive supersampling. The corners of the pixels are traced row by row,
+     * each corner once for all the (up to 4) pixels that share it.
+     *
+     * @param nX total number of pixels in width.
+     * @param nY total number of pixels in height.
+     */
+    private void renderAdaptive(int nX, int nY) {
+        double rX = width / nX, rY = height / nY;
+        Color[] upper = new Color[nX + 1]; // The corners above the current row of pixels
+        Color[] lower = new Color[nX + 1]; // The corners below the current row of pixels
+        for (int c = 0; c <= nX; c++)
+            upper[c] = traceRay((c - nX / 2.0) * rX, -nY / 2.0 * rY);
+
+        ColorAccumulator sum = new ColorAccumulator();
+        for (int i = 0; i < nY; i++) { // Iterate over the rows
+            double y = (i - nY / 2.0) * rY;
+            for (int c = 0; c <= nX; c++)
+                lower[c] = traceRay((c - nX / 2.0) * rX, y + rY);
+            for (int j = 0; j < nX; j++) { // Iterate over the columns
+                sampleAdaptive((j - nX / 2.0) * rX, y, rX, rY, upper[j], upper[j + 1], lower[j], lower[j + 1],
+                        adaptiveDepth, 1, sum.reset());
+                imageWriter.writePixel(j, i, sum.toColor());
+            }
+            Color[] swap = upper; // The lower corners of this row are the upper corners of the next one
+            upper = lower;
+            lower = swap;
+        }
+    }
+
+    /**
+     * Adds the color of an area of the view plane to a sum. When the colors of the corners of the area differ,
+     * the area is divided into 4 quarters recursively - the corners are shared by the quarters.
+     *
+     * @param x           the offset of the upper left corner from the view plane center to the right.
+     * @param y           the offset of the upper left corner from the view plane center downwards.
+     * @param w           the width of the area.
+     * @param h           the height of the area.
+     * @param upperLeft   the color of the upper left corner.
+     * @param upperRight  the color of the upper right corner.
+     * @param lowerLeft   the color of the lower left corner.
+     * @param lowerRight  the color of the lower right corner.
+     * @param depth       the remaining depth of the subdivision.
+     * @param weight      the weight of the area in the pixel color.
+     * @param sum         the sum of the pixel color.
+     */
+    private void sampleAdaptive(double x, double y, double w, double h,
+                                Color upperLeft, Color upperRight, Color lowerLeft, Color lowerRight,
+                                int depth, double weight, ColorAccumulator sum) {
+        if (depth == 0 || upperLeft.isSimilar(upperRight, adaptiveThreshold)
+                && upperLeft.isSimilar(lowerLeft, adaptiveThreshold)
+                && upperLeft.isSimilar(lowerRight, adaptiveThreshold)) {
+            double k = weight / 4; // The average of the corners
+            sum.add(upperLeft, k, k, k).add(upperRight, k, k, k).add(lowerLeft, k, k, k).add(lowerRight, k, k, k);
+            return;
+        }
+
+        double hw = w / 2, hh = h / 2;
+        Color top = traceRay(x + hw, y);
+        Color left = traceRay(x, y + hh);
+        Color center = traceRay(x + hw, y + hh);
+        Color right = traceRay(x + w, y + hh);
+        Color bottom = traceRay(x + hw, y + h);
+        double k = weight / 4;
+        sampleAdaptive(x, y, hw, hh, upperLeft, top, left, center, depth - 1, k, sum);
+        sampleAdaptive(x + hw, y, hw, hh, top, upperRight, center, right, depth - 1, k, sum);
+        sampleAdaptive(x, y + hh, hw, hh, left, center, lowerLeft, bottom, depth - 1, k, sum);
+        sampleAdaptive(x + hw, y + hh, hw, hh, center, right, bottom, lowerRight, depth - 1, k, sum);
+    }
+
     /**
      * Renders the entire image by casting rays through each pixel and writing the results to the image.
      *
@@ -205,13 +466,21 @@ public class Camera implements Cloneable {
             throw new MissingResourceException("RayTracer", "RayTracer", "RayTracer is missing");
         }
 
+        IntersectionProfiler.reset(); // Profile this render only (when the profiling is enabled)
         int nX = imageWriter.getNx(); // Get the number of pixels in width
         int nY = imageWriter.getNy(); // Get the number of pixels in height
-        for (int i = 0; i < nY; i++) { // Iterate over the rows
-            for (int j = 0; j < nX; j++) { // Iterate over the columns
-                castRay(nX, nY, j, i); // Cast a ray through the pixel and write the result to the image
+        if (adaptiveDepth > 0) {
+            renderAdaptive(nX, nY);
+        } else if (pixelSampler == null && lensTable == null) {
+            renderBatches(nX, nY);
+        } else {
+            for (int i = 0; i < nY; i++) { // Iterate over the rows
+                for (int j = 0; j < nX; j++) { // Iterate over the columns
+                    castRay(nX, nY, j, i); // Cast a ray through the pixel and write the result to the image
+                }
             }
         }
+        IntersectionProfiler.report(); // Report the aggregated counters (when the profiling is enabled)
 
         return this; // Return this Camera instance
     }
@@ -286,6 +555,73 @@ public class Camera implements Cloneable {
             return this;
         }
 
+        /**
+         * Sets the adaptive supersampling (anti-aliasing). The corners of each pixel are traced, and a pixel
+         * whose corners differ is divided into 4 sub-pixels recursively, up to the maximum depth.
+         *
+         * @param maxDepth  the maximum depth of the subdivision, 0 for a single ray through the pixel center.
+         * @param threshold the maximum difference of a color component between corners that are not subdivided.
+         * @return the Builder instance.
+         */
+        public Builder setAdaptiveSuperSampling(int maxDepth, double threshold) {
+            if (maxDepth < 0 || threshold < 0) {
+                throw new IllegalArgumentException("Depth and threshold cannot be negative");
+            }
+            camera.adaptiveDepth = maxDepth;
+            camera.adaptiveThreshold = threshold;
+            return this;
+        }
+
+        /**
+         * Sets the multi-sample pattern of the pixels (anti-aliasing). The color of a pixel is the average of
+         * the rays through its sample points.
+         *
+         * @param pixelSampler the sample pattern, null for a single ray through the pixel center.
+         * @return the Builder instance.
+         */
+        public Builder setPixelSampler(PixelSampler pixelSampler) {
+            camera.pixelSampler = pixelSampler;
+            return this;
+        }
+
+        /**
+         * Sets the depth of field of a thin lens camera. The rays of a point of the view plane start at points
+         * of the lens aperture and converge at the focal plane, so only the objects near the focal plane
+         * are in focus.
+         *
+         * @param apertureRadius the radius of the lens aperture, 0 for a pinhole camera.
+         * @param focalDistance  the distance from the camera to the focal plane, along the camera direction.
+         * @return the Builder instance.
+         */
+        public Builder setDepthOfField(double apertureRadius, double focalDistance) {
+            if (alignZero(apertureRadius) < 0) {
+                throw new IllegalArgumentException("Aperture radius cannot be negative");
+            }
+            if (alignZero(apertureRadius) > 0 && alignZero(focalDistance) <= 0) {
+                throw new IllegalArgumentException("Focal distance must be positive");
+            }
+            camera.apertureRadius = apertureRadius;
+            camera.focalDistance = focalDistance;
+            return this;
+        }
+
+        /**
+         * Sets the adaptive sampling of the lens aperture. The 4 lens probes of each point of the view plane
+         * are traced, and the other lens samples are traced only if the probes differ.
+         *
+         * @param samples   the number of the other lens samples.
+         * @param threshold the maximum difference of a color component between probes that stop the sampling.
+         * @return the Builder instance.
+         */
+        public Builder setApertureSampling(int samples, double threshold) {
+            if (samples < 1 || threshold < 0) {
+                throw new IllegalArgumentException("Samples must be positive and threshold cannot be negative");
+            }
+            camera.apertureSamples = samples;
+            camera.apertureThreshold = threshold;
+            return this;
+        }
+
         /**
          * Builds and returns the Camera object.
          *
@@ -304,7 +640,11 @@ public class Camera implements Cloneable {
             if (!isZero(camera.vRight.dotProduct(camera.vTo))) {
                 throw new IllegalArgumentException("Direction vectors must be orthogonal");
             }
+            if (camera.adaptiveDepth > 0 && camera.pixelSampler != null) {
+                throw new IllegalArgumentException("Adaptive supersampling and a pixel sampler cannot be combined");
+            }
             camera.vRight = camera.vTo.crossProduct(camera.vUp).normalize();
+            camera.lensTable = isZero(camera.apertureRadius) ? null : lensTable(camera.apertureSamples);
             return (Camera) camera.clone();
         }
 
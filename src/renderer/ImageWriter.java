@@ -9,6 +9,7 @@ import java.util.logging.Logger;
 import javax.imageio.ImageIO;
 
 import primitives.Color;
+import primitives.ColorBuffer;
 
 /**
  * Image writer class combines accumulation of pixel color matrix and finally
@@ -114,6 +115,19 @@ public class ImageWriter {
         image.setRGB(xIndex, yIndex, color.getColor().getRGB());
     }
 
+    /**
+     * The function writePixels writes a whole frame of pixel colors into pixel color
+     * matrix at once
+     *
+     * @param colors the colors of the pixels, row by row (nX * nY colors)
+     * @throws IllegalArgumentException if the buffer size doesn't match the resolution
+     */
+    public void writePixels(ColorBuffer colors) {
+        if (colors.size() != nX * nY)
+            throw new IllegalArgumentException("Color buffer size doesn't match the image resolution");
+        image.setRGB(0, 0, nX, nY, colors.toPackedRGB(new int[nX * nY]), 0, nX);
+    }
+
     public void fillBackground(Color color) {
         for (int i = 0; i < nY; i++) {
             for (int j = 0; j < nX; j++) {
@@ -0,0 +1,123 @@
+package renderer;
+
+import java.util.Random;
+
+/**
+ * Class PixelSampler defines the sample points of the multi-sample anti-aliasing within a pixel.
+ * The sample offsets are calculated once, into a set of tables, and each pixel reuses one of the tables -
+ * so rendering doesn't draw a random number per sample. The tables are generated from a fixed seed,
+ * so the rendered images are reproducible.
+ */
+public class PixelSampler {
+    /**
+     * The sampling pattern within a pixel.
+     */
+    public enum Pattern {
+        /**
+         * The centers of a regular n x n grid of sub-pixels.
+         */
+        GRID,
+        /**
+         * A random point in each sub-pixel of a regular n x n grid (stratified sampling).
+         */
+        JITTERED,
+        /**
+         * Random points in the whole pixel.
+         */
+        RANDOM
+    }
+
+    /**
+     * The number of offset tables of the random patterns - neighbouring pixels use different tables,
+     * so the sampling noise doesn't repeat in a visible pattern.
+     */
+    private static final int TABLES = 64;
+
+    /**
+     * The seed of the random patterns.
+     */
+    private static final long SEED = 3467;
+
+    /**
+     * The sampling pattern.
+     */
+    private final Pattern pattern;
+
+    /**
+     * The number of samples per pixel.
+     */
+    private final int samples;
+
+    /**
+     * The offset tables - the x and y offsets of each sample from the pixel center, in pixel units
+     * (-0.5 to 0.5, x to the right, y downwards).
+     */
+    private final double[][] tables;
+
+    /**
+     * Constructor for PixelSampler class receiving the pattern and the number of samples per pixel.
+     *
+     * @param pattern the sampling pattern.
+     * @param samples the number of samples per pixel - a square number (1, 4, 9, ...) for the grid patterns.
+     * @throws IllegalArgumentException if the number of samples is not positive, or not a square for a grid pattern.
+     */
+    public PixelSampler(Pattern pattern, int samples) {
+        if (samples < 1)
+            throw new IllegalArgumentException("The number of samples must be positive");
+        int n = (int) Math.round(Math.sqrt(samples));
+        if (pattern != Pattern.RANDOM && n * n != samples)
+            throw new IllegalArgumentException("The number of samples of a grid pattern must be a square");
+        this.pattern = pattern;
+        this.samples = samples;
+
+        Random random = new Random(SEED);
+        tables = new double[pattern == Pattern.GRID ? 1 : TABLES][2 * samples];
+        for (double[] table : tables) {
+            for (int s = 0; s < samples; s++) {
+                switch (pattern) {
+                    case GRID -> {
+                        table[2 * s] = (s % n + 0.5) / n - 0.5;
+                        table[2 * s + 1] = (s / n + 0.5) / n - 0.5;
+                    }
+                    case JITTERED -> {
+                        table[2 * s] = (s % n + random.nextDouble()) / n - 0.5;
+                        table[2 * s + 1] = (s / n + random.nextDouble()) / n - 0.5;
+                    }
+                    case RANDOM -> {
+                        table[2 * s] = random.nextDouble() - 0.5;
+                        table[2 * s + 1] = random.nextDouble() - 0.5;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Getter for the sampling pattern.
+     *
+     * @return the sampling pattern.
+     */
+    public Pattern getPattern() {
+        return pattern;
+    }
+
+    /**
+     * Getter for the number of samples per pixel.
+     *
+     * @return the number of samples per pixel.
+     */
+    public int getSamples() {
+        return samples;
+    }
+
+    /**
+     * Getter for the sample offsets of a pixel. The table is shared and must not be modified.
+     *
+     * @param j column index of the pixel.
+     * @param i row index of the pixel.
+     * @return the x and y offsets of each sample from the pixel center, in pixel units.
+     */
+    double[] getOffsets(int j, int i) {
+        return tables.length == 1 ? tables[0] : tables[Math.floorMod(j * 7 + i * 13, tables.length)];
+    }
+}
@@ -29,4 +29,17 @@ public abstract class RayTracerBase {
      * @return the color of the point that the ray intersects with.
      */
     public abstract Color traceRay(Ray ray);
+
+    /**
+     * Traces a batch of rays. The default implementation traces the rays one by one,
+     * a tracer that processes the rays in stages overrides it.
+     *
+     * @param rays   the rays.
+     * @param colors the colors of the points that the rays intersect with - output.
+     * @param count  the number of rays in the batch.
+     */
+    public void traceRays(Ray[] rays, Color[] colors, int count) {
+        for (int i = 0; i < count; ++i)
+            colors[i] = traceRay(rays[i]);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,67 @@
+package renderer;
+
+import geometries.Intersectable.GeoPoint;
+import primitives.Color;
+import primitives.Material;
+import primitives.Point;
+import primitives.Ray;
+import primitives.Vector;
+
+import static primitives.Util.alignZero;
+
+/**
+ * Class ShadingContext holds the per-hit data that the local and the global effects share.
+ * It is built once for each hit, so the normal, the view vector and the material are not re-derived.
+ */
+class ShadingContext {
+    /**
+     * The hit point and geometry.
+     */
+    final GeoPoint geoPoint;
+
+    /**
+     * The hit point.
+     */
+    final Point point;
+
+    /**
+     * The view vector - the direction of the ray that hit the geometry.
+     */
+    final Vector v;
+
+    /**
+     * The normal to the geometry at the hit point.
+     */
+    final Vector n;
+
+    /**
+     * The dot product of the normal and the view vector, aligned to zero.
+     */
+    final double nv;
+
+    /**
+     * The material of the hit geometry.
+     */
+    final Material material;
+
+    /**
+     * The emission color of the hit geometry.
+     */
+    final Color emission;
+
+    /**
+     * Constructor for the shading context of a hit.
+     *
+     * @param geoPoint the hit point and geometry.
+     * @param ray      the ray that hit the geometry.
+     */
+    ShadingContext(GeoPoint geoPoint, Ray ray) {
+        this.geoPoint = geoPoint;
+        this.point = geoPoint.point;
+        this.v = ray.getDirection();
+        this.n = geoPoint.getNormal();
+        this.nv = alignZero(n.dotProduct(v));
+        this.material = geoPoint.getMaterial();
+        this.emission = geoPoint.getEmission();
+    }
+}
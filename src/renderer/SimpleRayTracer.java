@@ -1,13 +1,21 @@
 package renderer;
 
 import geometries.Intersectable.GeoPoint;
+import geometries.Intersectable.Hit;
+import geometries.IntersectionProfiler;
+import geometries.RayBatch;
+import lighting.AreaLight;
 import lighting.LightSource;
 import primitives.*;
 import scene.Scene;
 
-import java.util.List;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Random;
 
 import static primitives.Util.alignZero;
+import static primitives.Util.isZero;
 
 /**
  * This class is responsible for calculating the color of a point on a geometry
@@ -17,22 +25,145 @@ public class SimpleRayTracer extends RayTracerBase {
     /**
      * The maximum level of calculation for the color of a point.
      */
-    private static final int MAX_CALC_COLOR_LEVEL = 10;
+    static final int MAX_CALC_COLOR_LEVEL = 10;
 
     /**
      * The minimum value for the calculation of the color of a point.
      */
-    private static final double MIN_CALC_COLOR_K = 0.001;
+    static final double MIN_CALC_COLOR_K = 0.001;
 
     /**
-     * The initial value for the calculation of the color of a point.
+     * The delta value for the calculations.
      */
-    private static final Double3 INITIAL_K = Double3.ONE;
+    private static final double DELTA = 0.1;
 
     /**
-     * The delta value for the calculations.
+     * The golden angle, in radians - the angle between successive rays of a beam.
      */
-    private static final double DELTA = 0.1;
+    private static final double GOLDEN_ANGLE = Math.PI * (3 - Math.sqrt(5));
+
+    /**
+     * The maximum number of rays in a beam of glossy reflection or blurry refraction.
+     */
+    private int beamSize = 16;
+
+    /**
+     * The seed of the random numbers of the Russian roulette.
+     */
+    private static final long ROULETTE_SEED = 3467;
+
+    /**
+     * The depth of the secondary rays (1 for the rays of the primary hit) from which the Russian roulette
+     * terminates the ray paths, 0 for no Russian roulette.
+     */
+    private int rouletteDepth = 0;
+
+    /**
+     * The random numbers of the Russian roulette per rendering thread.
+     */
+    private final ThreadLocal<Random> rouletteRandom = ThreadLocal.withInitial(() -> new Random(ROULETTE_SEED));
+
+    /**
+     * Reusable hit record per rendering thread.
+     */
+    private final ThreadLocal<Hit> hitRecord = ThreadLocal.withInitial(Hit::new);
+
+    /**
+     * Reusable stack of the pending secondary rays per rendering thread.
+     */
+    private final ThreadLocal<RayStack> rayStack = ThreadLocal.withInitial(RayStack::new);
+
+    /**
+     * Reusable batch of the primary rays per rendering thread, grows when needed.
+     */
+    private final ThreadLocal<RayBatch> primaryBatch = ThreadLocal.withInitial(() -> new RayBatch(1));
+
+    /**
+     * The name of the occluder cache in the instrumentation.
+     */
+    private static final String OCCLUDER_CACHE = "occluder cache";
+
+    /**
+     * The last opaque occluder of the shadow rays to each light, per rendering thread - the hit geometry,
+     * the index of the hit primitive within it and its placement.
+     */
+    private final ThreadLocal<Map<LightSource, Hit>> occluders = ThreadLocal.withInitial(IdentityHashMap::new);
+
+    /**
+     * A stack of the pending secondary rays of a ray tree, each with its recursion level and its attenuation.
+     * The arrays are allocated once per thread and grow when needed, so the evaluation of the tree
+     * neither recurses nor allocates stack entries. The stack also serves as a queue of a ray generation
+     * of the {@link WavefrontRayTracer}, where each ray belongs to a pixel of the batch.
+     */
+    static final class RayStack {
+        /**
+         * The rays.
+         */
+        Ray[] rays = new Ray[64];
+
+        /**
+         * The recursion levels of the rays.
+         */
+        int[] levels = new int[64];
+
+        /**
+         * The rgb attenuation coefficients of the rays - 3 per ray.
+         */
+        double[] ks = new double[3 * 64];
+
+        /**
+         * The rgb attenuation coefficients of the background if the rays miss - 3 per ray. The background seen
+         * by a secondary ray isn't scaled by the coefficient of its own effect, only by those of its parent rays.
+         */
+        double[] missKs = new double[3 * 64];
+
+        /**
+         * The pixels of the rays in the batch of the wavefront tracer.
+         */
+        int[] pixels = new int[64];
+
+        /**
+         * The pixel of the rays that are pushed.
+         */
+        int pixel = 0;
+
+        /**
+         * The number of the pending rays.
+         */
+        int size = 0;
+
+        /**
+         * Pushes a ray.
+         *
+         * @param ray   the ray.
+         * @param level the recursion level of the ray.
+         * @param kr    the red attenuation coefficient of the ray.
+         * @param kg    the green attenuation coefficient of the ray.
+         * @param kb    the blue attenuation coefficient of the ray.
+         * @param mr    the red attenuation coefficient of the background if the ray misses.
+         * @param mg    the green attenuation coefficient of the background if the ray misses.
+         * @param mb    the blue attenuation coefficient of the background if the ray misses.
+         */
+        void push(Ray ray, int level, double kr, double kg, double kb, double mr, double mg, double mb) {
+            if (size == rays.length) {
+                rays = Arrays.copyOf(rays, 2 * size);
+                levels = Arrays.copyOf(levels, 2 * size);
+                ks = Arrays.copyOf(ks, 6 * size);
+                missKs = Arrays.copyOf(missKs, 6 * size);
+                pixels = Arrays.copyOf(pixels, 2 * size);
+            }
+            rays[size] = ray;
+            levels[size] = level;
+            pixels[size] = pixel;
+            ks[3 * size] = kr;
+            ks[3 * size + 1] = kg;
+            ks[3 * size + 2] = kb;
+            missKs[3 * size] = mr;
+            missKs[3 * size + 1] = mg;
+            missKs[3 * size + 2] = mb;
+            ++size;
+        }
+    }
 
     /**
      * Constructor for the SimpleRayTracer class.
@@ -43,131 +174,271 @@ public class SimpleRayTracer extends RayTracerBase {
         super(scene);
     }
 
+    /**
+     * Setter for the maximum number of rays in a beam of glossy reflection or blurry refraction.
+     * A beam of the primary ray gets this number of rays, and the deeper beams get fewer rays,
+     * in proportion to their attenuation and to the remaining recursion levels.
+     *
+     * @param beamSize the maximum number of rays in a beam.
+     * @return the SimpleRayTracer object.
+     * @throws IllegalArgumentException if the number is not positive.
+     */
+    public SimpleRayTracer setBeamSize(int beamSize) {
+        if (beamSize < 1)
+            throw new IllegalArgumentException("The beam size must be positive");
+        this.beamSize = beamSize;
+        return this;
+    }
+
+    /**
+     * Setter for the Russian roulette termination of the deep ray paths. From the given depth on, a secondary ray
+     * survives with the probability of its attenuation (the highest rgb component), and a surviving ray is
+     * weighted by the inverse of the probability - so the low weight paths are mostly terminated early, and the
+     * expected color stays the same (unbiased). The minimum attenuation cutoff doesn't apply from this depth on.
+     *
+     * @param depth the depth of the secondary rays from which the roulette applies (1 for the rays of
+     *              the primary hit), 0 for no Russian roulette.
+     * @return the SimpleRayTracer object.
+     * @throws IllegalArgumentException if the depth is negative.
+     */
+    public SimpleRayTracer setRussianRoulette(int depth) {
+        if (depth < 0)
+            throw new IllegalArgumentException("The Russian roulette depth cannot be negative");
+        this.rouletteDepth = depth;
+        return this;
+    }
+
     @Override
     public Color traceRay(Ray ray) {
         GeoPoint closestPoint = findClosestIntersection(ray);
         return closestPoint == null ? scene.getBackground() : calcColor(closestPoint, ray);
     }
 
+    /**
+     * Traces a batch of rays. The closest hits of the primary rays are found by a single batch query,
+     * and the ray tree of each hit is evaluated as by {@link #traceRay}. The shadow rays and the secondary
+     * rays stay single ray queries, for the any-hit occlusion queries and the occluder cache.
+     */
+    @Override
+    public void traceRays(Ray[] rays, Color[] colors, int count) {
+        RayBatch batch = primaryBatch.get();
+        if (batch.capacity() < count)
+            primaryBatch.set(batch = new RayBatch(count));
+        batch.clear();
+        for (int i = 0; i < count; ++i)
+            batch.add(rays[i], Double.POSITIVE_INFINITY);
+        scene.geometries.findClosestHits(batch);
+
+        Hit hit = hitRecord.get();
+        for (int i = 0; i < count; ++i) {
+            if (batch.geometry[i] == null) // The ray misses the scene
+                colors[i] = scene.getBackground();
+            else {
+                hit.set(batch.t[i], batch.geometry[i], batch.index[i]);
+                colors[i] = calcColor(hit.toGeoPoint(rays[i]), rays[i]);
+            }
+        }
+    }
+
     /**
      * Calculates the color of a point on a geometry, by calculating the color of the light sources that affect it.
+     * The tree of the secondary rays is evaluated iteratively: the pending secondary rays are pushed, with their
+     * attenuation and level, on a stack of the rendering thread, in the order that keeps the depth-first order of
+     * the recursive evaluation - so the colors are added in the same order, and the result is identical.
+     * All the contributions are accumulated in place, and the color object is created only once.
      *
      * @param gp  the point on the geometry that the ray intersects with.
      * @param ray the ray that intersects the geometry.
      * @return the color of the intersected point.
      */
     private Color calcColor(GeoPoint gp, Ray ray) {
-        return calcColor(gp, ray, MAX_CALC_COLOR_LEVEL, INITIAL_K).add(scene.getAmbientLight().getIntensity());
+        ColorAccumulator color = new ColorAccumulator().add(scene.getAmbientLight().getIntensity());
+        RayStack stack = rayStack.get();
+        calcColor(gp, ray, MAX_CALC_COLOR_LEVEL, 1, 1, 1, color, stack);
+        while (stack.size > 0) {
+            int top = --stack.size;
+            Ray secondary = stack.rays[top];
+            stack.rays[top] = null;
+            int level = stack.levels[top];
+            double kr = stack.ks[3 * top], kg = stack.ks[3 * top + 1], kb = stack.ks[3 * top + 2];
+
+            GeoPoint secondaryPoint = findClosestIntersection(secondary);
+            if (secondaryPoint == null) // If no intersection found, add the background color
+                color.add(scene.background, stack.missKs[3 * top], stack.missKs[3 * top + 1], stack.missKs[3 * top + 2]);
+            else
+                calcColor(secondaryPoint, secondary, level, kr, kg, kb, color, stack);
+        }
+        return color.toColor();
     }
 
     /**
      * Calculates the color of a point on a geometry, by calculating the color of the light sources that affect it.
+     * The color is added to the accumulated color, scaled by the attenuation of the ray path, and the secondary rays
+     * of the point are pushed on the stack.
      *
      * @param gp    the point on the geometry that the ray intersects with.
      * @param ray   the ray that intersects the geometry.
      * @param level the level of recursion.
-     * @param k     the ratio of the current ray's color to the color of the previous ray.
-     * @return the color of the intersected point.
+     * @param kr    the red ratio of the current ray's color to the color of the primary ray.
+     * @param kg    the green ratio of the current ray's color to the color of the primary ray.
+     * @param kb    the blue ratio of the current ray's color to the color of the primary ray.
+     * @param color the accumulated color.
+     * @param stack the pending secondary rays.
      */
-    private Color calcColor(GeoPoint gp, Ray ray, int level, Double3 k) {
-        Color color = calcLocalEffects(gp, ray, k);
-        return 1 == level ? color : color.add(calcGlobalEffects(gp, ray, level, k));
+    private void calcColor(GeoPoint gp, Ray ray, int level, double kr, double kg, double kb, ColorAccumulator color,
+                           RayStack stack) {
+        ShadingContext context = new ShadingContext(gp, ray);
+        calcLocalEffects(context, kr, kg, kb, color);
+        if (1 != level)
+            calcGlobalEffects(context, level, kr, kg, kb, stack);
     }
 
     /**
      * Calculates the color of a point on a geometry, by calculating the color of the light sources that affect it.
      *
-     * @param geoPoint the point on the geometry that the ray intersects with.
-     * @param ray      the ray that intersects the geometry.
-     * @return the color of the point.
+     * @param context the shading context of the hit.
+     * @param kr      the red attenuation coefficient.
+     * @param kg      the green attenuation coefficient.
+     * @param kb      the blue attenuation coefficient.
+     * @param color   the accumulated color.
      */
-    private Color calcLocalEffects(GeoPoint geoPoint, Ray ray, Double3 k) {
-        Vector v = ray.getDirection();
-        Vector n = geoPoint.geometry.getNormal(geoPoint.point);
-        double nv = alignZero(n.dotProduct(v));
-
+    private void calcLocalEffects(ShadingContext context, double kr, double kg, double kb, ColorAccumulator color) {
+        double nv = context.nv;
         if (nv == 0) // If the camera is perpendicular to the normal vector
-            return Color.BLACK;
+            return;
 
-        Material material = geoPoint.geometry.getMaterial();
-        Color color = geoPoint.geometry.getEmission();
+        Point point = context.point;
+        Vector n = context.n;
+        Material material = context.material;
+        color.add(context.emission, kr, kg, kb);
 
         for (LightSource lightSource : scene.getLights()) { // Iterate over all the light sources
-            Vector l = lightSource.getL(geoPoint.point); // The vector from the point on the surface to the light source
+            if (!lightSource.reaches(point)) // Out of the light's influence - no shadow ray
+                continue;
+            Vector l = lightSource.getL(point); // The vector from the point on the surface to the light source
             double nl = alignZero(n.dotProduct(l)); // The dot product of the normal vector and the vector to the light source
             if (nl * nv > 0) { // sign(nl) == sing(nv)
-                Double3 ktr = transparency(geoPoint, l, n, lightSource, nv);
-                if (!(ktr.product(k).lowerThan(MIN_CALC_COLOR_K))) { // If the color is not too dark
-                    Color intensity = lightSource.getIntensity(geoPoint.point).scale(ktr);
-                    color = color.add(intensity.scale(calcDiffusive(material.kD, nl)),
-                            intensity.scale(calcSpecular(material, l, n, v)));
+                Double3 ktr = transparency(context.geoPoint, l, n, lightSource);
+                double tr = kr * ktr.getD1(), tg = kg * ktr.getD2(), tb = kb * ktr.getD3(); // ktr * k
+                if (tr >= MIN_CALC_COLOR_K || tg >= MIN_CALC_COLOR_K || tb >= MIN_CALC_COLOR_K) { // If the color is not too dark
+                    double diffusive = Math.abs(nl);
+                    double specular = calcSpecular(material, l, context.v, nl, nv);
+                    // intensity * ktr * k * (kD * |nl| + kS * specular)
+                    color.add(lightSource.getIntensity(point),
+                            tr * (material.kD.getD1() * diffusive + material.kS.getD1() * specular),
+                            tg * (material.kD.getD2() * diffusive + material.kS.getD2() * specular),
+                            tb * (material.kD.getD3() * diffusive + material.kS.getD3() * specular));
                 }
             }
         }
-
-        return color;
     }
 
     /**
-     * Calculates the global effects (reflections and refractions) at the intersection point.
+     * Pushes the global effects (reflections and refractions) at the intersection point on the stack.
+     * The reflection is pushed first, so the refraction is evaluated first.
      *
-     * @param gp    the intersection point.
-     * @param ray   the ray that intersects the geometry.
-     * @param level the level of recursion.
-     * @param k     the current attenuation coefficient.
-     * @return the color contribution from global effects.
+     * @param context the shading context of the hit.
+     * @param level   the level of recursion.
+     * @param kr      the red attenuation coefficient.
+     * @param kg      the green attenuation coefficient.
+     * @param kb      the blue attenuation coefficient.
+     * @param stack   the pending secondary rays.
      */
-    private Color calcGlobalEffects(GeoPoint gp, Ray ray, int level, Double3 k) {
-        Material material = gp.geometry.getMaterial();
-        Vector direction = ray.getDirection();
-        Vector normal = gp.geometry.getNormal(gp.point);
-        return calcGlobalEffect(constructRefractedRay(gp, direction, normal), material.kT, level, k)
-                .add(calcGlobalEffect(constructReflectedRay(gp, direction, normal), material.kR, level, k));
+    void calcGlobalEffects(ShadingContext context, int level, double kr, double kg, double kb, RayStack stack) {
+        Material material = context.material;
+        calcGlobalEffect(context, constructReflectedRay(context), material.glossiness, material.kR, level,
+                kr, kg, kb, stack);
+        calcGlobalEffect(context, constructRefractedRay(context), material.blurriness, material.kT, level,
+                kr, kg, kb, stack);
     }
 
     /**
-     * Calculates the color contribution from a single global effect (reflection or refraction).
+     * Pushes a global effect on the stack, as a single ray or as a beam of rays in a cone around the ideal ray.
+     * The number of rays in the beam adapts to the attenuation of the effect and to the remaining recursion levels,
+     * and each ray carries its share of the attenuation - so the nested beams get fewer rays, and the total number
+     * of rays doesn't grow exponentially with the depth.
      *
-     * @param ray   the secondary ray (reflection or refraction).
-     * @param kx    the attenuation coefficient for the effect.
-     * @param level the level of recursion.
-     * @param k     the current attenuation coefficient.
-     * @return the color contribution from the global effect.
+     * @param context the shading context of the hit.
+     * @param ray     the ideal secondary ray.
+     * @param angle   the half-angle of the cone of the beam, in degrees.
+     * @param kx      the attenuation coefficient for the effect.
+     * @param level   the level of recursion.
+     * @param kr      the red attenuation coefficient.
+     * @param kg      the green attenuation coefficient.
+     * @param kb      the blue attenuation coefficient.
+     * @param stack   the pending secondary rays.
      */
-    private Color calcGlobalEffect(Ray ray, Double3 kx, int level, Double3 k) {
-        Double3 kkx = k.product(kx);
-        if (kkx.lowerThan(MIN_CALC_COLOR_K)) {
-            return Color.BLACK; // Return no contribution if the combined coefficient is too small
+    private void calcGlobalEffect(ShadingContext context, Ray ray, double angle, Double3 kx, int level,
+                                  double kr, double kg, double kb, RayStack stack) {
+        double kkr = kr * kx.getD1(), kkg = kg * kx.getD2(), kkb = kb * kx.getD3();
+        double kMax = Math.max(kkr, Math.max(kkg, kkb));
+        if (rouletteDepth > 0 && MAX_CALC_COLOR_LEVEL - level + 1 >= rouletteDepth) {
+            if (kMax < 1) { // The ray survives with the probability kMax, at the weight k / kMax
+                if (kMax == 0 || rouletteRandom.get().nextDouble() >= kMax)
+                    return;
+                kkr /= kMax;
+                kkg /= kMax;
+                kkb /= kMax;
+                kr /= kMax;
+                kg /= kMax;
+                kb /= kMax;
+                kMax = 1;
+            }
+        } else if (kMax < MIN_CALC_COLOR_K)
+            return; // No contribution if the combined coefficient is too small
+
+        // The background of a missed ray is scaled by k, not by k * kx
+        int rays = angle == 0 ? 1 : (int) Math.min(beamSize, Math.ceil(beamSize * kMax * level / MAX_CALC_COLOR_LEVEL));
+        if (rays == 1) {
+            stack.push(ray, level - 1, kkr, kkg, kkb, kr, kg, kb);
+            return;
         }
 
-        GeoPoint gp = findClosestIntersection(ray);
-        return gp == null ? scene.background // If no intersection found, return background color
-                : calcColor(gp, ray, level - 1, kkx).scale(kx);
-    }
+        Vector n = context.n;
+        Vector direction = ray.getDirection();
+        double side = alignZero(direction.dotProduct(n)); // The side of the surface of the beam
+        // An orthonormal basis of the cone base - crossed with the axis that is the least parallel to the direction
+        Vector u = new Vec3().cross(direction, Math.abs(direction.getXYZ().getD1()) < 0.5 ? Vector.X : Vector.Y)
+                .normalize().toTrustedVector();
+        Vector w = new Vec3().cross(direction, u).toTrustedVector();
+        double radius = Math.tan(Math.toRadians(angle)); // The radius of the cone at distance 1
+        double rotation = hashAngle(context.point);
+
+        // Spread the rays evenly over the cone base by the golden angle spiral, each ray at an equal share
+        Ray[] beam = new Ray[rays];
+        int count = 0;
+        Vec3 dir = new Vec3();
+        for (int i = 0; i < rays; ++i) {
+            double r = radius * Math.sqrt((i + 0.5) / rays);
+            double phi = rotation + i * GOLDEN_ANGLE;
+            dir.set(direction).scaleAdd(r * Math.cos(phi), u).scaleAdd(r * Math.sin(phi), w).normalize();
+            if (alignZero(dir.dotProduct(n)) * side > 0) // Skip the rays that cross the surface
+                beam[count++] = Ray.trusted(context.point, dir.toTrustedVector(), n);
+        }
+        if (count == 0) {
+            stack.push(ray, level - 1, kkr, kkg, kkb, kr, kg, kb);
+            return;
+        }
 
-    /**
-     * Calculates the diffusive component of the light intensity at a point on a surface.
-     *
-     * @param kD the diffusive reflection coefficient.
-     * @param nl the dot product of the normal and the light direction.
-     * @return the diffusion coefficient.
-     */
-    private Double3 calcDiffusive(Double3 kD, double nl) {
-        return kD.scale(Math.abs(nl));
+        for (int i = count - 1; i >= 0; --i) // In reverse, so the rays are evaluated in order
+            stack.push(beam[i], level - 1, kkr / count, kkg / count, kkb / count, kr / count, kg / count, kb / count);
     }
 
     /**
-     * Calculates the specular component of the light intensity at a point on a surface.
+     * Calculates the specular factor of the light intensity at a point on a surface.
+     * With r = l - 2(l&#183;n)n, the factor -v&#183;r is expanded to 2(n&#183;l)(n&#183;v) - v&#183;l,
+     * so the reflected vector is never built.
      *
      * @param mat the material of the surface.
-     * @param l   the vector from the point on the surface to the light source.
-     * @param n   the normal vector of the surface.
-     * @param v   the vector from the point on the surface to the camera.
-     * @return the specular coefficient.
-     */
-    private Double3 calcSpecular(Material mat, Vector l, Vector n, Vector v) {
-        Vector r = l.subtract(n.scale(2 * (l.dotProduct(n))));
-        return mat.kS.scale(Math.pow(Math.max(v.scale(-1).dotProduct(r), 0), mat.nShininess));
+     * @param l   the vector from the light source to the point on the surface.
+     * @param v   the direction of the ray that hit the surface.
+     * @param nl  the dot product of the normal and l.
+     * @param nv  the dot product of the normal and v.
+     * @return the specular factor, to be scaled by kS.
+     */
+    double calcSpecular(Material mat, Vector l, Vector v, double nl, double nv) {
+        double minusVR = 2 * nl * nv - v.dotProduct(l);
+        return Math.pow(Math.max(minusVR, 0), mat.nShininess);
     }
 
     /**
@@ -177,82 +448,211 @@ public class SimpleRayTracer extends RayTracerBase {
      * @param lightSource the light source.
      * @param l           the vector from the point on the surface to the light source.
      * @param n           the normal vector of the surface at the intersection point.
-     * @param nl          the dot product of the normal vector and the vector from the light source to the point.
      * @return true if the point is unshaded, and false if it is shaded.
      */
-    private boolean unshaded(GeoPoint gp, LightSource lightSource, Vector l, Vector n, double nl) {
-        return transparency(gp, l, n, lightSource, nl) == Double3.ZERO;
+    private boolean unshaded(GeoPoint gp, LightSource lightSource, Vector l, Vector n) {
+        return !transparency(gp, l, n, lightSource).lowerThan(MIN_CALC_COLOR_K);
     }
 
     /**
      * Calculates the transparency of a point on a surface.
+     * Uses the any-hit occlusion query of the scene geometries, which stops at the first opaque blocker.
      *
      * @param geoPoint    the point on the geometry.
      * @param l           the vector from the point on the surface to the light source.
      * @param n           the normal vector of the surface at the intersection point.
      * @param lightSource the light source.
-     * @param nl          the dot product of the normal vector and the vector from the light source to the point.
      * @return the transparency of the point.
      */
-    private Double3 transparency(GeoPoint geoPoint, Vector l, Vector n, LightSource lightSource, double nl) {
-        Vector lightDirection = l.scale(-1); // From point to light source
-        Ray lightRay = new Ray(geoPoint.point, lightDirection, n);
-        List<GeoPoint> intersections = scene.getGeometries().findGeoIntersections(lightRay, lightSource.getDistance(geoPoint.point));
+    Double3 transparency(GeoPoint geoPoint, Vector l, Vector n, LightSource lightSource) {
+        if (lightSource instanceof AreaLight areaLight)
+            return areaTransparency(geoPoint.point, n, alignZero(-n.dotProduct(l)), areaLight);
 
-        if (intersections == null)
-            return Double3.ONE;
+        Vector lightDirection = new Vec3().scaleAdd(-1, l).toTrustedVector(); // From point to light source
+        Ray lightRay = Ray.trusted(geoPoint.point, lightDirection, n);
+        return findTransparency(lightRay, lightSource.getDistance(geoPoint.point), lightSource);
+    }
 
-        Double3 ktr = Double3.ONE;
-        double distance = lightSource.getDistance(geoPoint.point);
+    /**
+     * Calculates the transparency of a shadow ray to a light. The last opaque occluder of the shadow rays
+     * to the light in the rendering thread is tested first - the shadow rays of neighbouring points are
+     * usually blocked by the same primitive, so a single test answers them. The occluder is kept as a geometry,
+     * the index of its primitive and its placement, so the primitive of a compact or a placed geometry is tested
+     * by its kernel without materializing it. The scene is traversed only when the occluder doesn't block the ray, and an opaque blocker
+     * found by the traversal replaces it.
+     *
+     * @param ray         the shadow ray.
+     * @param distance    the distance to the light along the ray.
+     * @param lightSource the light source.
+     * @return the transparency of the ray.
+     */
+    private Double3 findTransparency(Ray ray, double distance, LightSource lightSource) {
+        long start = IntersectionProfiler.ENABLED ? System.nanoTime() : 0;
+        Hit hit = hitRecord.get();
+        Map<LightSource, Hit> cache = occluders.get();
+        Hit occluder = cache.get(lightSource);
+        if (occluder != null && occluder.findPrimitiveHit(ray, hit.reset(distance))) {
+            if (IntersectionProfiler.ENABLED)
+                IntersectionProfiler.recordCache(OCCLUDER_CACHE, 1, 1, System.nanoTime() - start);
+            return Double3.ZERO;
+        }
 
-        for (GeoPoint gp : intersections) {
-            if (alignZero(gp.point.distance(geoPoint.point) - distance) <= 0) {
-                ktr = ktr.product(gp.geometry.getMaterial().kT);
-                if (ktr.lowerThan(MIN_CALC_COLOR_K)) return Double3.ZERO;
-            }
+        // An opaque geometry that blocks the ray is left in the hit record by the traversal
+        Double3 ktr = scene.getGeometries().findTransparency(ray, distance, MIN_CALC_COLOR_K,
+                hit.reset(Double.POSITIVE_INFINITY));
+        if (hit.geometry != null && ktr.lowerThan(MIN_CALC_COLOR_K)) {
+            if (occluder == null)
+                cache.put(lightSource, occluder = new Hit());
+            occluder.set(hit);
         }
+        if (IntersectionProfiler.ENABLED)
+            IntersectionProfiler.recordCache(OCCLUDER_CACHE, 1, 0, System.nanoTime() - start);
+        return ktr;
+    }
+
+    /**
+     * Calculates the transparency of a point on a surface towards an area light, by the average of the shadow rays
+     * to a grid of points on the light. The grid is always divided once, so the rays to the corners, the middles of
+     * the edges and the center of the grid are cast first - an occluder that passes between the corners is still
+     * seen. A part of the grid is divided further only where its corner rays disagree - so a fully lit or fully
+     * shadowed point costs 9 shadow rays, and only the penumbra gets the full grid.
+     *
+     * @param p     the point on the surface.
+     * @param n     the normal vector of the surface at the point.
+     * @param side  the dot product of the normal and the direction to the light center - its sign is the lit side.
+     * @param light the area light.
+     * @return the average transparency.
+     */
+    private Double3 areaTransparency(Point p, Vector n, double side, AreaLight light) {
+        int size = light.getGridSize();
+        Double3[] samples = new Double3[size * size]; // The transparencies of the grid points cast so far
+        return areaTransparency(p, n, side, light, samples, 0, 0, size - 1, size - 1, true);
+    }
 
+    /**
+     * Calculates the average transparency of a part of the shadow ray grid of an area light, recursively.
+     *
+     * @param p       the point on the surface.
+     * @param n       the normal vector of the surface at the point.
+     * @param side    the dot product of the normal and the direction to the light center.
+     * @param light   the area light.
+     * @param samples the transparencies of the grid points cast so far.
+     * @param a0      the first column of the part.
+     * @param b0      the first row of the part.
+     * @param a1      the last column of the part.
+     * @param b1      the last row of the part.
+     * @param divide  whether to divide the part even if its corner rays agree.
+     * @return the average transparency of the part.
+     */
+    private Double3 areaTransparency(Point p, Vector n, double side, AreaLight light, Double3[] samples,
+                                     int a0, int b0, int a1, int b1, boolean divide) {
+        Double3 k00 = sampleTransparency(p, n, side, light, samples, a0, b0);
+        Double3 k10 = sampleTransparency(p, n, side, light, samples, a1, b0);
+        Double3 k01 = sampleTransparency(p, n, side, light, samples, a0, b1);
+        Double3 k11 = sampleTransparency(p, n, side, light, samples, a1, b1);
+        if ((a1 - a0 <= 1 && b1 - b0 <= 1)
+                || (!divide && k00.equals(k10) && k00.equals(k01) && k00.equals(k11)))
+            return k00.add(k10).add(k01).add(k11).scale(0.25);
+
+        // Divide the part along its sides that are longer than one grid step, weight the parts by their areas
+        int am = a1 - a0 > 1 ? (a0 + a1) / 2 : a1;
+        int bm = b1 - b0 > 1 ? (b0 + b1) / 2 : b1;
+        double area = (a1 - a0) * (b1 - b0);
+        Double3 ktr = areaTransparency(p, n, side, light, samples, a0, b0, am, bm, false).scale((am - a0) * (bm - b0) / area);
+        if (am < a1)
+            ktr = ktr.add(areaTransparency(p, n, side, light, samples, am, b0, a1, bm, false).scale((a1 - am) * (bm - b0) / area));
+        if (bm < b1)
+            ktr = ktr.add(areaTransparency(p, n, side, light, samples, a0, bm, am, b1, false).scale((am - a0) * (b1 - bm) / area));
+        if (am < a1 && bm < b1)
+            ktr = ktr.add(areaTransparency(p, n, side, light, samples, am, bm, a1, b1, false).scale((a1 - am) * (b1 - bm) / area));
         return ktr;
     }
 
+    /**
+     * Calculates the transparency of the shadow ray to a point of the grid of an area light,
+     * or takes it from the grid points cast so far.
+     *
+     * @param p       the point on the surface.
+     * @param n       the normal vector of the surface at the point.
+     * @param side    the dot product of the normal and the direction to the light center.
+     * @param light   the area light.
+     * @param samples the transparencies of the grid points cast so far.
+     * @param a       the column of the grid point.
+     * @param b       the row of the grid point.
+     * @return the transparency of the shadow ray.
+     */
+    private Double3 sampleTransparency(Point p, Vector n, double side, AreaLight light, Double3[] samples, int a, int b) {
+        int size = light.getGridSize();
+        int index = b * size + a;
+        if (samples[index] != null)
+            return samples[index];
+
+        Point sample = light.getSamplePoint(p, a / (size - 1.0), b / (size - 1.0));
+        Vec3 toSample = new Vec3(sample).subtract(p);
+        double distance = toSample.length();
+        Double3 ktr;
+        if (isZero(distance)) // The point is on the light
+            ktr = Double3.ONE;
+        else {
+            Vector direction = toSample.scale(1 / distance).toTrustedVector();
+            if (alignZero(n.dotProduct(direction)) * side <= 0) // The sample is behind the surface
+                ktr = Double3.ZERO;
+            else
+                ktr = findTransparency(Ray.trusted(p, direction, n), distance, light);
+        }
+        return samples[index] = ktr;
+    }
+
     /**
      * Constructs a reflected ray.
      *
-     * @param geoPoint  the point on the surface.
-     * @param direction the direction of the incoming ray.
-     * @param normal    the normal vector of the surface.
+     * @param context the shading context of the hit.
      * @return the reflected ray.
      */
-    private Ray constructReflectedRay(GeoPoint geoPoint, Vector direction, Vector normal) {
-        double nv = normal.dotProduct(direction); // The dot product of the normal vector and the direction vector
+    private Ray constructReflectedRay(ShadingContext context) {
+        double nv = context.nv; // The dot product of the normal vector and the direction vector
 
         if (nv == 0) {
             return null;
         }
 
-        Vector reflectedDirection = direction.subtract(normal.scale(2 * nv)); // The reflected direction
-        return new Ray(geoPoint.point, reflectedDirection, normal);
+        Vector normal = context.n;
+        Vector reflectedDirection = new Vec3(context.v).scaleAdd(-2 * nv, normal).toTrustedVector(); // v - 2(n*v)n
+        return Ray.trusted(context.point, reflectedDirection, normal);
     }
 
     /**
      * Constructs a refracted ray.
      *
-     * @param geoPoint  the intersection point.
-     * @param direction the direction of the incoming ray.
-     * @param normal    the normal vector of the surface.
+     * @param context the shading context of the hit.
      * @return the refracted ray.
      */
-    private Ray constructRefractedRay(GeoPoint geoPoint, Vector direction, Vector normal) {
-        return new Ray(geoPoint.point, direction, normal);
+    private Ray constructRefractedRay(ShadingContext context) {
+        return Ray.trusted(context.point, context.v, context.n);
+    }
+
+    /**
+     * Derives a reproducible pseudo-random angle from a point, to rotate the ray pattern of a beam -
+     * so neighbouring beams don't repeat the same pattern, while the rendered image stays the same on every run.
+     *
+     * @param p the point.
+     * @return the angle, in radians, from 0 to 2&#960;.
+     */
+    private static double hashAngle(Point p) {
+        Double3 xyz = p.getXYZ();
+        double h = Math.sin(xyz.getD1() * 12.9898 + xyz.getD2() * 78.233 + xyz.getD3() * 37.719) * 43758.5453;
+        return (h - Math.floor(h)) * 2 * Math.PI;
     }
 
     /**
      * Finds the closest intersection point of a ray with the geometries in the scene.
+     * The point itself is materialized only for the closest hit.
      *
      * @param ray the ray.
      * @return the closest intersection point.
      */
     private GeoPoint findClosestIntersection(Ray ray) {
-        return ray.findClosestGeoPoint(scene.geometries.findGeoIntersections(ray));
+        Hit hit = hitRecord.get().reset(Double.POSITIVE_INFINITY);
+        return scene.geometries.findClosestHit(ray, hit) ? hit.toGeoPoint(ray) : null;
     }
 }
\ No newline at end of file
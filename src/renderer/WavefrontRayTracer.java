@@ -0,0 +1,325 @@
+package renderer;
+
+import geometries.Intersectable.GeoPoint;
+import geometries.Intersectable.Hit;
+import geometries.RayBatch;
+import lighting.LightSource;
+import primitives.*;
+import scene.Scene;
+
+import java.util.Arrays;
+
+import static primitives.Util.alignZero;
+
+/**
+ * Class WavefrontRayTracer is a ray tracer that processes a batch of rays in stages instead of tracing each ray
+ * tree to its end: the rays of a generation are intersected together, then their hits are shaded together, then
+ * the shadow rays of the shading are tested together, and the secondary rays form the next generation.
+ * Each stage runs over the whole batch, so its code stays hot, and the intersection stage goes through
+ * the batch kernels of the geometries. The shading is that of {@link SimpleRayTracer}, but the contributions of
+ * a pixel are added breadth-first and the random numbers of the Russian roulette are drawn in another order,
+ * so the colors may differ in the last bits and the images are the same only after the rounding to 8-bit.
+ */
+public class WavefrontRayTracer extends SimpleRayTracer {
+    /**
+     * The pending shadow rays of a generation - the lit points, with the light contributions that
+     * apply if the light isn't blocked.
+     */
+    private static final class ShadowQueue {
+        /**
+         * The lit points.
+         */
+        GeoPoint[] points = new GeoPoint[64];
+
+        /**
+         * The vectors from the lights to the lit points.
+         */
+        Vector[] ls = new Vector[64];
+
+        /**
+         * The normals at the lit points.
+         */
+        Vector[] normals = new Vector[64];
+
+        /**
+         * The lights.
+         */
+        LightSource[] lights = new LightSource[64];
+
+        /**
+         * The factors of each contribution - 6 per shadow ray: the rgb attenuation of the ray path,
+         * followed by the rgb reflectance (kD * |nl| + kS * specular).
+         */
+        double[] factors = new double[6 * 64];
+
+        /**
+         * The pixels of the shadow rays in the batch.
+         */
+        int[] pixels = new int[64];
+
+        /**
+         * The number of the pending shadow rays.
+         */
+        int size = 0;
+
+        /**
+         * Adds a shadow ray.
+         *
+         * @param point the lit point.
+         * @param l     the vector from the light to the lit point.
+         * @param n     the normal at the lit point.
+         * @param light the light.
+         * @param pixel the pixel of the shadow ray in the batch.
+         * @return the index of the factors of the shadow ray.
+         */
+        int add(GeoPoint point, Vector l, Vector n, LightSource light, int pixel) {
+            if (size == points.length) {
+                points = Arrays.copyOf(points, 2 * size);
+                ls = Arrays.copyOf(ls, 2 * size);
+                normals = Arrays.copyOf(normals, 2 * size);
+                lights = Arrays.copyOf(lights, 2 * size);
+                factors = Arrays.copyOf(factors, 12 * size);
+                pixels = Arrays.copyOf(pixels, 2 * size);
+            }
+            points[size] = point;
+            ls[size] = l;
+            normals[size] = n;
+            lights[size] = light;
+            pixels[size] = pixel;
+            return 6 * size++;
+        }
+
+        /**
+         * Removes all the shadow rays, releasing their objects.
+         */
+        void clear() {
+            Arrays.fill(points, 0, size, null);
+            Arrays.fill(ls, 0, size, null);
+            Arrays.fill(normals, 0, size, null);
+            Arrays.fill(lights, 0, size, null);
+            size = 0;
+        }
+    }
+
+    /**
+     * The reusable state of the stages per rendering thread - the ray generations, the shadow queue,
+     * the intersection batch and the color sums of the pixels.
+     */
+    private static final class Stages {
+        /**
+         * The rays of the current generation.
+         */
+        RayStack generation = new RayStack();
+
+        /**
+         * The rays of the next generation.
+         */
+        RayStack next = new RayStack();
+
+        /**
+         * The pending shadow rays.
+         */
+        final ShadowQueue shadows = new ShadowQueue();
+
+        /**
+         * The rays of the intersection stage.
+         */
+        RayBatch batch = new RayBatch(64);
+
+        /**
+         * The hit record of the shade stage.
+         */
+        final Hit hit = new Hit();
+
+        /**
+         * The color sums of the pixels in the batch.
+         */
+        ColorAccumulator[] sums = new ColorAccumulator[0];
+
+        /**
+         * Whether the primary ray of each pixel in the batch hits the scene.
+         */
+        boolean[] hits = new boolean[0];
+
+        /**
+         * The batch of a single ray.
+         */
+        final Ray[] ray = new Ray[1];
+
+        /**
+         * The color of a single ray.
+         */
+        final Color[] color = new Color[1];
+
+        /**
+         * Prepares the color sums of a batch.
+         *
+         * @param count the number of the pixels in the batch.
+         */
+        void prepare(int count) {
+            if (sums.length < count) {
+                int length = sums.length;
+                sums = Arrays.copyOf(sums, count);
+                for (int i = length; i < count; ++i)
+                    sums[i] = new ColorAccumulator();
+                hits = new boolean[count];
+            }
+            Arrays.fill(hits, 0, count, false);
+        }
+    }
+
+    /**
+     * Reusable state of the stages per rendering thread.
+     */
+    private final ThreadLocal<Stages> stages = ThreadLocal.withInitial(Stages::new);
+
+    /**
+     * Constructor for the WavefrontRayTracer class.
+     *
+     * @param scene the scene.
+     */
+    public WavefrontRayTracer(Scene scene) {
+        super(scene);
+    }
+
+    @Override
+    public Color traceRay(Ray ray) {
+        Stages stages = this.stages.get();
+        stages.ray[0] = ray;
+        traceRays(stages.ray, stages.color, 1);
+        Color color = stages.color[0];
+        stages.ray[0] = null;
+        stages.color[0] = null;
+        return color;
+    }
+
+    @Override
+    public void traceRays(Ray[] rays, Color[] colors, int count) {
+        Stages stages = this.stages.get();
+        stages.prepare(count);
+        ColorAccumulator[] sums = stages.sums;
+        boolean[] hits = stages.hits; // false for the pixels whose primary ray missed
+        RayStack generation = stages.generation;
+        RayStack next = stages.next;
+        ShadowQueue shadows = stages.shadows;
+        Hit hit = stages.hit;
+        if (stages.batch.capacity() < count)
+            stages.batch = new RayBatch(count);
+        RayBatch batch = stages.batch;
+
+        // Generate stage - the primary rays
+        for (int i = 0; i < count; ++i) {
+            generation.pixel = i;
+            generation.push(rays[i], MAX_CALC_COLOR_LEVEL, 1, 1, 1, 1, 1, 1);
+        }
+
+        while (generation.size > 0) {
+            // Intersect stage - the closest hits of the whole generation
+            if (batch.capacity() < generation.size)
+                stages.batch = batch = new RayBatch(generation.size);
+            batch.clear();
+            for (int r = 0; r < generation.size; ++r)
+                batch.add(generation.rays[r], Double.POSITIVE_INFINITY);
+            scene.geometries.findClosestHits(batch);
+
+            // Shade stage - the local effects and the shadow rays, and the secondary rays of the next generation
+            for (int r = 0; r < generation.size; ++r) {
+                Ray ray = generation.rays[r];
+                int pixel = generation.pixels[r];
+                int level = generation.levels[r];
+                double kr = generation.ks[3 * r], kg = generation.ks[3 * r + 1], kb = generation.ks[3 * r + 2];
+                if (batch.geometry[r] == null) { // The ray misses the scene
+                    if (level == MAX_CALC_COLOR_LEVEL)
+                        colors[pixel] = scene.getBackground();
+                    else
+                        sums[pixel].add(scene.background, generation.missKs[3 * r], generation.missKs[3 * r + 1],
+                                generation.missKs[3 * r + 2]);
+                    continue;
+                }
+
+                if (level == MAX_CALC_COLOR_LEVEL) {
+                    hits[pixel] = true;
+                    sums[pixel].reset().add(scene.getAmbientLight().getIntensity());
+                }
+                hit.set(batch.t[r], batch.geometry[r], batch.index[r]);
+                ShadingContext context = new ShadingContext(hit.toGeoPoint(ray), ray);
+                shade(context, pixel, kr, kg, kb, sums[pixel], shadows);
+                if (1 != level) {
+                    next.pixel = pixel;
+                    calcGlobalEffects(context, level, kr, kg, kb, next);
+                }
+            }
+
+            // Shadow stage - the lights that aren't blocked add their contributions
+            for (int s = 0; s < shadows.size; ++s) {
+                LightSource light = shadows.lights[s];
+                GeoPoint gp = shadows.points[s];
+                Double3 ktr = transparency(gp, shadows.ls[s], shadows.normals[s], light);
+                int f = 6 * s;
+                double[] factors = shadows.factors;
+                double tr = factors[f] * ktr.getD1(), tg = factors[f + 1] * ktr.getD2(),
+                        tb = factors[f + 2] * ktr.getD3(); // ktr * k
+                if (tr >= MIN_CALC_COLOR_K || tg >= MIN_CALC_COLOR_K || tb >= MIN_CALC_COLOR_K) // If not too dark
+                    sums[shadows.pixels[s]].add(light.getIntensity(gp.point),
+                            tr * factors[f + 3], tg * factors[f + 4], tb * factors[f + 5]);
+            }
+            shadows.clear();
+
+            // The secondary rays are the next generation
+            Arrays.fill(generation.rays, 0, generation.size, null);
+            generation.size = 0;
+            RayStack swap = generation;
+            generation = next;
+            next = swap;
+        }
+
+        stages.generation = generation;
+        stages.next = next;
+        for (int i = 0; i < count; ++i)
+            if (hits[i])
+                colors[i] = sums[i].toColor();
+    }
+
+    /**
+     * Adds the emission of a hit to the color of its pixel, and queues a shadow ray for each light
+     * that lights the hit side of the surface, with the contribution of the light if it isn't blocked.
+     *
+     * @param context the shading context of the hit.
+     * @param pixel   the pixel of the hit in the batch.
+     * @param kr      the red attenuation coefficient.
+     * @param kg      the green attenuation coefficient.
+     * @param kb      the blue attenuation coefficient.
+     * @param color   the accumulated color of the pixel.
+     * @param shadows the pending shadow rays.
+     */
+    private void shade(ShadingContext context, int pixel, double kr, double kg, double kb, ColorAccumulator color,
+                       ShadowQueue shadows) {
+        double nv = context.nv;
+        if (nv == 0) // If the camera is perpendicular to the normal vector
+            return;
+
+        Point point = context.point;
+        Vector n = context.n;
+        Material material = context.material;
+        color.add(context.emission, kr, kg, kb);
+
+        for (LightSource lightSource : scene.getLights()) {
+            if (!lightSource.reaches(point)) // Out of the light's influence - no shadow ray
+                continue;
+            Vector l = lightSource.getL(point);
+            double nl = alignZero(n.dotProduct(l));
+            if (nl * nv > 0) { // sign(nl) == sing(nv)
+                double diffusive = Math.abs(nl);
+                double specular = calcSpecular(material, l, context.v, nl, nv);
+                int f = shadows.add(context.geoPoint, l, n, lightSource, pixel);
+                double[] factors = shadows.factors;
+                factors[f] = kr;
+                factors[f + 1] = kg;
+                factors[f + 2] = kb;
+                factors[f + 3] = material.kD.getD1() * diffusive + material.kS.getD1() * specular;
+                factors[f + 4] = material.kD.getD2() * diffusive + material.kS.getD2() * specular;
+                factors[f + 5] = material.kD.getD3() * diffusive + material.kS.getD3() * specular;
+            }
+        }
+    }
+}
@@ -5,6 +5,8 @@ import primitives.Point;
 import primitives.Ray;
 import primitives.Vector;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -69,4 +71,60 @@ class CylinderTests {
         expected1 = new Vector(0, 0, 2);
         assertEquals(expected1.normalize(), cylinder.getNormal(pBVA), "EP TC14: Wrong result of normal in cylinder");
     }
-}
\ No newline at end of file
+
+    /**
+     * Test method for {@link geometries.Cylinder#findIntersections(Ray)}.
+     */
+    @Test
+    void testFindIntersections() {
+        final Cylinder cylinder = new Cylinder(1, new Ray(new Point(0, 0, 0), new Vector(0, 0, 1)), 2);
+        List<Point> result;
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: The ray misses the cylinder (0 points)
+        assertNull(cylinder.findIntersections(new Ray(new Point(2, 2, 1), new Vector(0, 1, 0))), "Ray misses cylinder");
+
+        // TC02: The ray crosses the lateral surface twice (2 points)
+        result = cylinder.findIntersections(new Ray(new Point(-2, 0, 1), new Vector(1, 0, 0)));
+        assertEquals(List.of(new Point(-1, 0, 1), new Point(1, 0, 1)), result, "Ray crosses the lateral surface");
+
+        // TC03: The ray crosses the lateral surface above the cylinder (0 points)
+        assertNull(cylinder.findIntersections(new Ray(new Point(-2, 0, 3), new Vector(1, 0, 0))),
+                "Ray passes above the cylinder");
+
+        // TC04: The ray crosses both bases (2 points)
+        result = cylinder.findIntersections(new Ray(new Point(0.5, 0, 3), new Vector(0, 0, -1)));
+        assertEquals(List.of(new Point(0.5, 0, 2), new Point(0.5, 0, 0)), result, "Ray crosses both bases");
+
+        // TC05: The ray crosses a base and the lateral surface (2 points)
+        result = cylinder.findIntersections(new Ray(new Point(0, 0, 2.5), new Vector(1, 0, -1)));
+        assertEquals(List.of(new Point(0.5, 0, 2), new Point(1, 0, 1.5)), result, "Ray crosses base and lateral surface");
+
+        // TC06: The ray starts inside (1 point)
+        result = cylinder.findIntersections(new Ray(new Point(0, 0, 1), new Vector(0, 0, 1)));
+        assertEquals(List.of(new Point(0, 0, 2)), result, "Ray starts inside the cylinder");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: The ray is parallel to the axis outside the cylinder
+        assertNull(cylinder.findIntersections(new Ray(new Point(2, 0, -1), new Vector(0, 0, 1))),
+                "Ray parallel to the axis outside the cylinder");
+
+        // TC12: The ray starts beyond the cylinder and goes away
+        assertNull(cylinder.findIntersections(new Ray(new Point(0, 0, 3), new Vector(0, 0, 1))),
+                "Ray starts after the cylinder");
+
+        // TC13: The whole cylinder is beyond the maximum distance
+        assertNull(cylinder.findGeoIntersections(new Ray(new Point(-5, 0, 1), new Vector(1, 0, 0)), 3),
+                "Intersections beyond the maximum distance");
+
+        // TC14: The normals at the hits are consistent with the hit surfaces
+        Intersectable.Hit hit = new Intersectable.Hit();
+        Ray ray = new Ray(new Point(0.3, 0.2, 3), new Vector(0.1, 0.1, -1));
+        assertTrue(cylinder.findClosestHit(ray, hit), "Missing hit on the upper base");
+        assertEquals(new Vector(0, 0, 1), cylinder.getNormal(hit.getPoint(ray)), "Wrong normal on the upper base");
+        ray = new Ray(new Point(-3, 0.6, 1.3), new Vector(1, 0.1, 0.05));
+        assertTrue(cylinder.findClosestHit(ray, hit.reset(Double.POSITIVE_INFINITY)), "Missing hit on the lateral surface");
+        assertEquals(0, cylinder.getNormal(hit.getPoint(ray)).dotProduct(Vector.Z), 1e-10,
+                "Wrong normal on the lateral surface");
+    }
+}
@@ -44,4 +44,78 @@ class GeometriesTests {
         result = geometries.findIntersections(new Ray(new Point(0, 2.5, 0), new Vector(5, 0, 0)));
         assertEquals(4, result.size(), "Wrong number of intersections");
     }
-}
\ No newline at end of file
+
+    /**
+     * Test method for {@link geometries.Geometries#findClosestHit(Ray, Intersectable.Hit)}.
+     */
+    @Test
+    void findClosestHit() {
+        Sphere sphere = new Sphere(1, new Point(2, 2, 0));
+        Triangle triangle = new Triangle(new Point(3, 2, 1), new Point(3, 4, 0), new Point(3, 2, -1));
+        Plane plane = new Plane(new Point(4, 1, 1), new Point(4, 3, 0), new Point(4, 1, -1));
+        Geometries geometries = new Geometries(plane, triangle, sphere);
+        Intersectable.Hit hit = new Intersectable.Hit();
+
+        // ============ Equivalence Partitions Tests ==============
+        //TC01: All objects intersected - the closest is the sphere
+        Ray ray = new Ray(new Point(0, 2.5, 0), new Vector(5, 0, 0));
+        assertTrue(geometries.findClosestHit(ray, hit), "Missing closest hit");
+        assertSame(sphere, hit.geometry, "Wrong closest geometry");
+        assertEquals(ray.findClosestPoint(geometries.findIntersections(ray)), hit.getPoint(ray), "Wrong closest point");
+
+        //TC02: The ray misses the sphere - the closest is the triangle
+        ray = new Ray(new Point(2.5, 3.5, 0), new Vector(5, 0, 0));
+        assertTrue(geometries.findClosestHit(ray, hit.reset(Double.POSITIVE_INFINITY)), "Missing closest hit");
+        assertSame(triangle, hit.geometry, "Wrong closest geometry");
+        assertEquals(0.5, hit.t, 1e-10, "Wrong closest hit distance");
+
+        // =============== Boundary Values Tests ==================
+        //TC11: No intersections
+        assertFalse(geometries.findClosestHit(new Ray(new Point(0, 2, 0), new Vector(-5, 0, 0)),
+                hit.reset(Double.POSITIVE_INFINITY)), "Unexpected hit");
+        assertNull(hit.geometry, "Unexpected hit geometry");
+
+        //TC12: All intersections are beyond the maximum distance
+        assertFalse(geometries.findClosestHit(new Ray(new Point(0, 2.5, 0), new Vector(5, 0, 0)), hit.reset(1)),
+                "Unexpected hit beyond the maximum distance");
+    }
+
+    /**
+     * Test method for {@link geometries.Geometries#findClosestHits(RayBatch)}.
+     */
+    @Test
+    void findClosestHits() {
+        Sphere sphere = new Sphere(1, new Point(2, 2, 0));
+        Triangle triangle = new Triangle(new Point(3, 2, 1), new Point(3, 4, 0), new Point(3, 2, -1));
+        Plane plane = new Plane(new Point(4, 1, 1), new Point(4, 3, 0), new Point(4, 1, -1));
+        Polygon polygon = new Polygon(new Point(3.5, 0, 0), new Point(3.5, 1, 0), new Point(3.5, 1, 1), new Point(3.5, 0, 1));
+        Geometries geometries = new Geometries(plane, triangle, sphere, polygon);
+
+        // ============ Equivalence Partitions Tests ==============
+        //TC01: The batch finds the same hits as the single ray queries
+        RayBatch batch = new RayBatch(64);
+        java.util.Random random = new java.util.Random(42);
+        while (batch.size() < batch.capacity())
+            batch.add(new Ray(new Point(random.nextDouble() * 2, random.nextDouble() * 4, random.nextDouble() * 2 - 1),
+                    new Vector(1, random.nextDouble() - 0.5, random.nextDouble() - 0.5)), Double.POSITIVE_INFINITY);
+        geometries.findClosestHits(batch);
+
+        Intersectable.Hit hit = new Intersectable.Hit();
+        for (int i = 0; i < batch.size(); ++i) {
+            Ray ray = batch.getRay(i);
+            boolean found = geometries.findClosestHit(ray, hit.reset(Double.POSITIVE_INFINITY));
+            assertSame(hit.geometry, batch.geometry[i], "Wrong batch hit geometry");
+            if (found)
+                assertEquals(hit.t, batch.t[i], 1e-10, "Wrong batch hit distance");
+        }
+
+        // =============== Boundary Values Tests ==================
+        //TC11: The maximum distance of each ray is respected
+        batch.clear();
+        batch.add(new Ray(new Point(0, 2.5, 0), new Vector(1, 0, 0)), 1);
+        batch.add(new Ray(new Point(0, 2.5, 0), new Vector(1, 0, 0)), 3);
+        geometries.findClosestHits(batch);
+        assertNull(batch.geometry[0], "Unexpected hit beyond the maximum distance");
+        assertSame(sphere, batch.geometry[1], "Wrong batch hit geometry");
+    }
+}
@@ -0,0 +1,129 @@
+package geometries;
+
+import org.junit.jupiter.api.Test;
+import primitives.Point;
+import primitives.Vector;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for geometries.IntersectionProfiler class
+ */
+class IntersectionProfilerTests {
+    /**
+     * The width of the name column of the summary table.
+     */
+    private static final int NAME_WIDTH = 28;
+
+    /**
+     * Finds a row of the summary table.
+     *
+     * @param summary the summary table.
+     * @param name    the name of the row's key.
+     * @param query   the name of the row's query.
+     * @return the columns of the row after the name - query, tests, hits, hit %, ms and ns/test,
+     * or null if there is no such row.
+     */
+    private static String[] row(String summary, String name, String query) {
+        for (String line : summary.split("\\R")) {
+            String[] columns = line.substring(NAME_WIDTH).trim().split("\\s+");
+            if (line.substring(0, NAME_WIDTH).trim().equals(name) && columns[0].equals(query))
+                return columns;
+        }
+        return null;
+    }
+
+    /**
+     * Test method for {@link geometries.IntersectionProfiler#summary()}.
+     */
+    @Test
+    void testSummary() throws InterruptedException {
+        Sphere sphere = new Sphere(1d, Point.ZERO);
+        Geometries node = new Geometries(sphere);
+        String nodeName = "Geometries#" + Integer.toHexString(System.identityHashCode(node));
+        IntersectionProfiler.reset();
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: The counters of the threads are aggregated per class, and a Geometries node has its own row
+        IntersectionProfiler.record(sphere, 10, 4, 1000);
+        Thread thread = new Thread(() -> {
+            IntersectionProfiler.record(new Sphere(2d, Point.ZERO), 6, 2, 3000);
+            IntersectionProfiler.record(node, 16, 6, 5000);
+        });
+        thread.start();
+        thread.join();
+        String summary = IntersectionProfiler.summary();
+        String[] columns = row(summary, "Sphere", "closest");
+        assertNotNull(columns, "Missing row of the class");
+        assertEquals("16", columns[1], "Wrong aggregated tests");
+        assertEquals("6", columns[2], "Wrong aggregated hits");
+        assertEquals(String.format("%.2f", 37.5), columns[3], "Wrong hit rate");
+        columns = row(summary, nodeName, "closest");
+        assertNotNull(columns, "Missing row of the Geometries node");
+        assertEquals("16", columns[1], "Wrong tests of the Geometries node");
+
+        // TC02: The any-hit queries have their own row
+        IntersectionProfiler.recordAnyHit(sphere, 8, 2, 500);
+        summary = IntersectionProfiler.summary();
+        columns = row(summary, "Sphere", "any-hit");
+        assertNotNull(columns, "Missing row of the any-hit queries");
+        assertEquals("8", columns[1], "Wrong any-hit tests");
+        assertEquals("2", columns[2], "Wrong any-hit blocked tests");
+        assertEquals("16", row(summary, "Sphere", "closest")[1], "The any-hit queries changed the closest-hit row");
+
+        // TC03: The rows are sorted by the time spent
+        assertTrue(summary.indexOf(nodeName) < summary.indexOf("Sphere"),
+                "The rows must be sorted by the time spent");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: A class with any-hit queries only has no closest-hit row
+        IntersectionProfiler.recordAnyHit(new Plane(Point.ZERO, Vector.Z), 3, 0, 100);
+        summary = IntersectionProfiler.summary();
+        assertNotNull(row(summary, "Plane", "any-hit"), "Missing row of the any-hit queries");
+        assertNull(row(summary, "Plane", "closest"), "A closest-hit row without tests");
+    }
+
+    /**
+     * Test method for {@link geometries.IntersectionProfiler#recordCache(String, long, long, long)}.
+     */
+    @Test
+    void testRecordCache() {
+        String cache = "test cache";
+        IntersectionProfiler.reset();
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: The lookups of a cache are a lookup row, with the hit rate of the cache
+        IntersectionProfiler.recordCache(cache, 3, 1, 100);
+        IntersectionProfiler.recordCache(cache, 1, 1, 100);
+        String[] columns = row(IntersectionProfiler.summary(), cache, "lookup");
+        assertNotNull(columns, "Missing row of the cache");
+        assertEquals("4", columns[1], "Wrong lookups");
+        assertEquals("2", columns[2], "Wrong cache hits");
+        assertEquals(String.format("%.2f", 50.0), columns[3], "Wrong cache hit rate");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: A cache without lookups has no row
+        IntersectionProfiler.recordCache("empty cache", 0, 0, 0);
+        assertNull(row(IntersectionProfiler.summary(), "empty cache", "lookup"), "A row of a cache without lookups");
+    }
+
+    /**
+     * Test method for {@link geometries.IntersectionProfiler#reset()}.
+     */
+    @Test
+    void testReset() throws InterruptedException {
+        IntersectionProfiler.record(new Sphere(1d, Point.ZERO), 5, 5, 100);
+        Thread thread = new Thread(() -> IntersectionProfiler.recordCache("test cache", 2, 1, 100));
+        thread.start();
+        thread.join();
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: The counters of all the threads are cleared - only the header is left
+        IntersectionProfiler.reset();
+        assertEquals(1, IntersectionProfiler.summary().split("\\R").length, "The counters weren't cleared");
+
+        // TC02: The counters count again after the reset
+        IntersectionProfiler.record(new Sphere(1d, Point.ZERO), 2, 1, 100);
+        assertEquals("2", row(IntersectionProfiler.summary(), "Sphere", "closest")[1], "Wrong tests after the reset");
+    }
+}
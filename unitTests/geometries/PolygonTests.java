@@ -3,6 +3,8 @@ package geometries;
 import org.junit.jupiter.api.Test;
 import primitives.*;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -89,4 +91,59 @@ public class PolygonTests {
             assertEquals(0d, result.dotProduct(pts[i].subtract(pts[i == 0 ? 3 : i - 1])), DELTA,
                     "Polygon's normal is not orthogonal to one of the edges");
     }
-}
\ No newline at end of file
+
+    /**
+     * Test method for {@link geometries.Polygon#findIntersections(primitives.Ray)}.
+     */
+    @Test
+    public void testFindIntersections() {
+        final Polygon quad = new Polygon(new Point(0, 0, 0), new Point(2, 0, 0), new Point(2, 2, 0), new Point(0, 2, 0));
+        final Vector down = new Vector(0, 0, -1);
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: Inside the polygon
+        assertEquals(List.of(new Point(1, 1.5, 0)), quad.findIntersections(new Ray(new Point(1, 1.5, 1), down)),
+                "Wrong intersection inside the polygon");
+        // TC02: Outside against an edge
+        assertNull(quad.findIntersections(new Ray(new Point(3, 1, 1), down)), "Intersection outside the polygon");
+        // TC03: Outside against a vertex
+        assertNull(quad.findIntersections(new Ray(new Point(3, 3, 1), down)), "Intersection outside the polygon");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: On an edge
+        assertNull(quad.findIntersections(new Ray(new Point(2, 1, 1), down)), "Intersection on an edge");
+        // TC12: In a vertex
+        assertNull(quad.findIntersections(new Ray(new Point(2, 2, 1), down)), "Intersection in a vertex");
+        // TC13: On an edge's continuation
+        assertNull(quad.findIntersections(new Ray(new Point(3, 0, 1), down)), "Intersection on an edge's continuation");
+
+        // **** Group: Large polygons use the fan triangulation
+        final int n = 12;
+        Point[] ccw = new Point[n];
+        Point[] cw = new Point[n];
+        for (int i = 0; i < n; ++i) {
+            double angle = 2 * Math.PI * i / n;
+            ccw[i] = new Point(Math.cos(angle), Math.sin(angle), 0);
+            cw[n - 1 - i] = ccw[i];
+        }
+        for (Polygon polygon : List.of(new Polygon(ccw), new Polygon(cw))) {
+            // TC21: Inside, in every fan triangle and on a fan diagonal
+            for (int i = 0; i < n; ++i) {
+                double angle = 2 * Math.PI * (i + 0.5) / n;
+                Point inside = new Point(0.9 * Math.cos(angle), 0.9 * Math.sin(angle), 0);
+                assertEquals(List.of(inside), polygon.findIntersections(new Ray(inside.add(Vector.Z), down)),
+                        "Wrong intersection inside a large polygon");
+            }
+            assertEquals(1, polygon.findIntersections(new Ray(new Point(0, 0, 1), down)).size(),
+                    "Wrong intersection on a fan diagonal");
+            // TC22: Outside, next to every edge
+            for (int i = 0; i < n; ++i) {
+                double angle = 2 * Math.PI * (i + 0.5) / n;
+                assertNull(polygon.findIntersections(new Ray(new Point(Math.cos(angle), Math.sin(angle), 1), down)),
+                        "Intersection outside a large polygon");
+            }
+            // TC23: In a vertex
+            assertNull(polygon.findIntersections(new Ray(new Point(1, 0, 1), down)), "Intersection in a vertex");
+        }
+    }
+}
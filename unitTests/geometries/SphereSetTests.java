@@ -0,0 +1,189 @@
+package geometries;
+
+import org.junit.jupiter.api.Test;
+import primitives.Color;
+import primitives.Double3;
+import primitives.Material;
+import primitives.Point;
+import primitives.Ray;
+import primitives.Vector;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for geometries.SphereSet class
+ */
+class SphereSetTests {
+    /**
+     * Test method for {@link geometries.SphereSet#SphereSet(float[], float[], int[], Material[], Color[])}.
+     */
+    @Test
+    void testConstructor() {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: Center coordinates that don't match the radii
+        assertThrows(IllegalArgumentException.class, () -> new SphereSet(new float[]{0, 0, 0, 1}, new float[]{1}),
+                "Centers that don't match the radii must throw exception");
+
+        // TC02: Palette index out of range
+        assertThrows(IllegalArgumentException.class, () -> new SphereSet(new float[]{0, 0, 0}, new float[]{1},
+                        new int[]{1}, new Material[]{new Material()}, new Color[]{Color.BLACK}),
+                "Missing palette index must throw exception");
+
+        // TC03: The palette is copied - a later change of the caller's palette doesn't change the set
+        Material[] materials = {new Material()};
+        SphereSet set = new SphereSet(new float[]{0, 0, 0}, new float[]{1}, new int[]{0}, materials,
+                new Color[]{Color.BLACK});
+        materials[0] = new Material().setkT(0.5);
+        assertTrue(set.isOpaque(), "The set must keep its own copy of the palette");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: Zero radius
+        assertThrows(IllegalArgumentException.class, () -> new SphereSet(new float[]{0, 0, 0}, new float[]{0}),
+                "Zero radius must throw exception");
+
+        // TC12: Empty set
+        assertNull(new SphereSet(new float[0], new float[0]).findIntersections(new Ray(Point.ZERO, new Vector(1, 0, 0))),
+                "Unexpected intersection with an empty set");
+    }
+
+    /**
+     * Test method for {@link geometries.SphereSet#getNormal(Point)}.
+     */
+    @Test
+    void testGetNormal() {
+        // A row of unit spheres along the x axis, 3 apart - more than a leaf of the hierarchy
+        float[] centers = new float[3 * 10];
+        float[] radii = new float[10];
+        for (int i = 0; i < 10; ++i) {
+            centers[3 * i] = 3 * i;
+            radii[i] = 1;
+        }
+        SphereSet set = new SphereSet(centers, radii);
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: A point on the top of a sphere
+        assertEquals(new Vector(0, 0, 1), set.getNormal(new Point(15, 0, 1)), "Wrong normal on the top of a sphere");
+
+        // TC02: A point on the side of a sphere
+        assertEquals(new Vector(1, 0, 0), set.getNormal(new Point(22, 0, 0)), "Wrong normal on the side of a sphere");
+
+        // TC03: A point out of the bounds of all the spheres
+        assertThrows(IllegalArgumentException.class, () -> set.getNormal(new Point(1.5, 0, 5)),
+                "A point that is not on the set must throw exception");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: A point on the last sphere, at the bound of the set
+        assertEquals(new Vector(1, 0, 0), set.getNormal(new Point(28, 0, 0)), "Wrong normal at the bound of the set");
+    }
+
+    /**
+     * Test method for {@link geometries.SphereSet#findTransparency(Ray, double, double, Intersectable.Hit)}.
+     */
+    @Test
+    void testFindTransparency() {
+        SphereSet set = new SphereSet(new float[]{0, 0, -10, 0, 0, -20, 5, 5, -10}, new float[]{1, 2, 1});
+        Intersectable.Hit hit = new Intersectable.Hit();
+        Ray ray = new Ray(Point.ZERO, new Vector(0, 0, -1));
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: The ray crosses two opaque spheres - it is blocked, and the blocker is recorded
+        assertEquals(Double3.ZERO, set.findTransparency(ray, Double.POSITIVE_INFINITY, 0.001, hit), "Unblocked ray");
+        assertSame(set, hit.geometry, "The blocker must be recorded");
+
+        // TC02: The ray misses all the spheres
+        assertEquals(Double3.ONE, set.findTransparency(new Ray(Point.ZERO, new Vector(1, 0, 0)),
+                Double.POSITIVE_INFINITY, 0.001, hit.reset(Double.POSITIVE_INFINITY)), "Unexpected blocker");
+
+        // TC03: Transparent spheres - the transparency of all the intersections is accumulated
+        SphereSet glass = new SphereSet(new float[]{0, 0, -10, 0, 0, -20}, new float[]{1, 2}, new int[]{0, 0},
+                new Material[]{new Material().setkT(0.5)}, new Color[]{Color.BLACK});
+        assertEquals(new Double3(0.0625), glass.findTransparency(ray, Double.POSITIVE_INFINITY, 0.001,
+                hit.reset(Double.POSITIVE_INFINITY)), "Wrong transparency of the transparent spheres");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: The spheres are beyond the maximum distance
+        assertEquals(Double3.ONE, set.findTransparency(ray, 8, 0.001, hit.reset(Double.POSITIVE_INFINITY)),
+                "Unexpected blocker beyond the maximum distance");
+
+        // TC12: Only the nearer sphere is within the maximum distance
+        assertEquals(Double3.ZERO, set.findTransparency(ray, 9.5, 0.001, hit.reset(Double.POSITIVE_INFINITY)),
+                "Unblocked ray");
+        assertEquals(9, hit.t, 1e-10, "Wrong distance of the blocker");
+    }
+
+    /**
+     * Test method for {@link geometries.SphereSet#findClosestHit(Ray, Intersectable.Hit)}.
+     */
+    @Test
+    void testFindClosestHit() {
+        Material red = new Material().setkD(0.3);
+        Material blue = new Material().setkD(0.7);
+        SphereSet set = new SphereSet(new float[]{0, 0, -10, 0, 0, -20, 5, 5, -10}, new float[]{1, 2, 1},
+                new int[]{0, 1, 1}, new Material[]{red, blue}, new Color[]{new Color(255, 0, 0), new Color(0, 0, 255)});
+        Intersectable.Hit hit = new Intersectable.Hit();
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: The ray crosses two spheres - the nearer one is hit
+        Ray ray = new Ray(Point.ZERO, new Vector(0, 0, -1));
+        assertTrue(set.findClosestHit(ray, hit), "Missing intersection");
+        assertEquals(9, hit.t, 1e-10, "Wrong hit distance");
+        Intersectable.GeoPoint gp = hit.toGeoPoint(ray);
+        assertEquals(new Point(0, 0, -9), gp.point, "Wrong hit point");
+        assertEquals(new Vector(0, 0, 1), gp.getNormal(), "Wrong normal of the hit sphere");
+        assertSame(red, gp.getMaterial(), "Wrong palette material of the hit sphere");
+
+        // TC02: The ray misses all the spheres
+        assertFalse(set.findClosestHit(new Ray(Point.ZERO, new Vector(1, 0, 0)), hit.reset(Double.POSITIVE_INFINITY)),
+                "Unexpected intersection");
+
+        // TC03: The ray starts inside a sphere
+        ray = new Ray(new Point(0, 0, -20), new Vector(0, 0, -1));
+        assertTrue(set.findClosestHit(ray, hit.reset(Double.POSITIVE_INFINITY)), "Missing intersection from inside");
+        assertEquals(2, hit.t, 1e-10, "Wrong hit distance from inside");
+        assertSame(blue, hit.toGeoPoint(ray).getMaterial(), "Wrong palette material of the hit sphere");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: The spheres are beyond the current closest hit
+        assertFalse(set.findClosestHit(new Ray(Point.ZERO, new Vector(0, 0, -1)), hit.reset(8)),
+                "Unexpected intersection beyond the closest hit");
+
+        // TC12: Ray along an axis (zero direction coordinates) through two spheres
+        assertEquals(4, set.findIntersections(new Ray(new Point(0, 0, 5), new Vector(0, 0, -1))).size(),
+                "Wrong number of intersections along the axis");
+    }
+
+    /**
+     * Test method for {@link geometries.SphereSet#findClosestHit(Ray, Intersectable.Hit)} - the hierarchy
+     * must find the same hits as separate spheres.
+     */
+    @Test
+    void testHierarchy() {
+        Random random = new Random(7);
+        int n = 500;
+        float[] centers = new float[3 * n];
+        float[] radii = new float[n];
+        Geometries spheres = new Geometries();
+        for (int i = 0; i < n; ++i) {
+            for (int k = 0; k < 3; ++k)
+                centers[3 * i + k] = random.nextFloat() * 100 - 50;
+            radii[i] = random.nextFloat() * 3 + 0.5f;
+            spheres.add(new Sphere(radii[i], new Point(centers[3 * i], centers[3 * i + 1], centers[3 * i + 2])));
+        }
+        SphereSet set = new SphereSet(centers, radii);
+        Intersectable.Hit expected = new Intersectable.Hit();
+        Intersectable.Hit actual = new Intersectable.Hit();
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: Random rays from outside the set
+        for (int r = 0; r < 1000; ++r) {
+            Ray ray = new Ray(new Point(0, 0, 100),
+                    new Vector(random.nextDouble() - 0.5, random.nextDouble() - 0.5, -1));
+            boolean found = spheres.findClosestHit(ray, expected.reset(Double.POSITIVE_INFINITY));
+            assertEquals(found, set.findClosestHit(ray, actual.reset(Double.POSITIVE_INFINITY)), "Wrong hit of ray " + r);
+            if (found)
+                assertEquals(expected.t, actual.t, 1e-9, "Wrong hit distance of ray " + r);
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package geometries;
+
+import org.junit.jupiter.api.Test;
+import primitives.Double3;
+import primitives.Matrix;
+import primitives.Point;
+import primitives.Ray;
+import primitives.Vector;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for geometries.Transformed class
+ */
+class TransformedTests {
+    /**
+     * Test method for {@link geometries.Transformed#findClosestHit(Ray, Intersectable.Hit)}.
+     */
+    @Test
+    void testFindClosestHit() {
+        Sphere unit = new Sphere(1, Point.ZERO);
+        Intersectable.Hit hit = new Intersectable.Hit();
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: Translated and uniformly scaled sphere - distance and normal in world space
+        Transformed placed = new Transformed(unit,
+                Matrix.translation(new Vector(0, 0, -10)).multiply(Matrix.scaling(2, 2, 2)));
+        Ray ray = new Ray(Point.ZERO, new Vector(0, 0, -1));
+        assertTrue(placed.findClosestHit(ray, hit), "Missing intersection");
+        assertEquals(8, hit.t, 1e-10, "Wrong world distance");
+        Intersectable.GeoPoint gp = hit.toGeoPoint(ray);
+        assertEquals(new Point(0, 0, -8), gp.point, "Wrong hit point");
+        assertEquals(new Vector(0, 0, 1), gp.geometry.getNormal(gp.point), "Wrong world normal");
+
+        // TC02: Non-uniformly scaled sphere (ellipsoid) - the normal is transformed by the transposed inverse
+        Transformed ellipsoid = new Transformed(unit, Matrix.scaling(1, 2, 1));
+        ray = new Ray(new Point(5, Math.sqrt(2), 0), new Vector(-1, 0, 0));
+        assertTrue(ellipsoid.findClosestHit(ray, hit.reset(Double.POSITIVE_INFINITY)), "Missing intersection");
+        assertEquals(5 - Math.sqrt(0.5), hit.t, 1e-10, "Wrong world distance");
+        gp = hit.toGeoPoint(ray);
+        assertEquals(new Vector(2, 1, 0).normalize(), gp.geometry.getNormal(gp.point), "Wrong normal of the ellipsoid");
+
+        // TC03: The ray misses the placed sphere
+        assertFalse(placed.findClosestHit(new Ray(new Point(5, 0, 0), new Vector(0, 0, -1)), hit.reset(Double.POSITIVE_INFINITY)),
+                "Unexpected intersection");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: The placed sphere is beyond the current closest hit - the record is unchanged
+        assertFalse(placed.findClosestHit(new Ray(Point.ZERO, new Vector(0, 0, -1)), hit.reset(7)),
+                "Unexpected intersection beyond the closest hit");
+        assertEquals(7, hit.t, "The record distance must be restored");
+    }
+
+    /**
+     * Test method for {@link geometries.Transformed#findIntersections(Ray)} - shared geometries under two placements.
+     */
+    @Test
+    void testSharedPlacements() {
+        Geometries shared = new Geometries(new Sphere(1, Point.ZERO), new Sphere(1, new Point(3, 0, 0)));
+        Geometries scene = new Geometries(
+                new Transformed(shared, Matrix.translation(new Vector(0, 0, -10))),
+                new Transformed(shared, Matrix.translation(new Vector(0, 0, -20))));
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: The ray crosses the same member in both placements
+        List<Point> result = scene.findIntersections(new Ray(new Point(3, 0, 0), new Vector(0, 0, -1)));
+        assertNotNull(result, "Missing intersections");
+        assertEquals(4, result.size(), "Wrong number of intersections");
+        assertTrue(result.contains(new Point(3, 0, -19)), "Missing intersection with the second placement");
+
+        // TC02: The closest hit is in the first placement, with the member's normal
+        Intersectable.Hit hit = new Intersectable.Hit();
+        Ray ray = new Ray(new Point(3, 0, 0), new Vector(0, 0, -1));
+        assertTrue(scene.findClosestHit(ray, hit), "Missing intersection");
+        Intersectable.GeoPoint gp = hit.toGeoPoint(ray);
+        assertEquals(new Point(3, 0, -9), gp.point, "Wrong closest point");
+        assertEquals(new Vector(0, 0, 1), gp.geometry.getNormal(gp.point), "Wrong normal of the placed member");
+    }
+
+    /**
+     * Test method for {@link geometries.Intersectable.Hit#findPrimitiveHit(Ray, Intersectable.Hit)} with placed
+     * geometries - the blocker of a shadow ray is recorded by the geometry and its placement, and tested again
+     * without a placed geometry of its own.
+     */
+    @Test
+    void testFindPrimitiveHit() {
+        TriangleMesh faces = new TriangleMesh(new float[]{-1, -1, 0, 1, -1, 0, 0, 1, 0, -1, -1, 1, 1, -1, 1, 0, 1, 1},
+                new int[]{0, 1, 2, 3, 4, 5});
+        Transformed mesh = new Transformed(faces, Matrix.translation(new Vector(0, 0, -10)));
+        Sphere member = new Sphere(1, Point.ZERO);
+        Transformed members = new Transformed(new Geometries(member, new Sphere(1, new Point(3, 0, 0))),
+                Matrix.translation(new Vector(0, 0, -10)));
+        Intersectable.Hit hit = new Intersectable.Hit();
+        Intersectable.Hit occluder = new Intersectable.Hit();
+        Ray ray = new Ray(Point.ZERO, new Vector(0, 0, -1));
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: A face of a placed mesh is recorded by the mesh, the index of the face and the placement - the first
+        // face that blocks the ray, not the closest one
+        assertEquals(Double3.ZERO, mesh.findTransparency(ray, Double.POSITIVE_INFINITY, 0.001, hit), "Unblocked ray");
+        assertSame(faces, hit.geometry, "The blocker must be recorded by the mesh");
+        assertSame(mesh, hit.placement, "The blocker must be recorded with its placement");
+        assertEquals(0, hit.index, "Wrong blocking face");
+        occluder.set(hit);
+        assertTrue(occluder.findPrimitiveHit(ray, hit.reset(Double.POSITIVE_INFINITY)), "Missing intersection");
+        assertEquals(10, hit.t, 1e-10, "Wrong world distance");
+
+        // TC02: A member of a placed collection is recorded by the member and the placement
+        assertEquals(Double3.ZERO, members.findTransparency(ray, Double.POSITIVE_INFINITY, 0.001,
+                hit.reset(Double.POSITIVE_INFINITY)), "Unblocked ray");
+        assertSame(member, hit.geometry, "The blocker must be recorded by the member");
+        assertSame(members, hit.placement, "The blocker must be recorded with its placement");
+        occluder.set(hit);
+        assertTrue(occluder.findPrimitiveHit(ray, hit.reset(Double.POSITIVE_INFINITY)), "Missing intersection");
+        assertEquals(9, hit.t, 1e-10, "Wrong world distance");
+
+        // TC03: The ray misses the member
+        assertFalse(occluder.findPrimitiveHit(new Ray(new Point(3, 0, 0), new Vector(0, 0, -1)),
+                hit.reset(Double.POSITIVE_INFINITY)), "Unexpected intersection");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: The member is beyond the current closest hit - the record is unchanged
+        assertFalse(occluder.findPrimitiveHit(ray, hit.reset(5)), "Unexpected intersection beyond the closest hit");
+        assertEquals(5, hit.t, "The record distance must be restored");
+    }
+
+    /**
+     * Test method for {@link geometries.Transformed#findClosestHit(Ray, Intersectable.Hit)} - the hit of a member of
+     * a placed collection is recorded by the member and the placement, and placed only when it is materialized.
+     */
+    @Test
+    void testPlacedMembers() {
+        Sphere member = new Sphere(1, new Point(3, 0, 0));
+        Transformed inner = new Transformed(new Geometries(new Sphere(1, Point.ZERO), member),
+                Matrix.translation(new Vector(0, 0, -10)));
+        Intersectable.Hit hit = new Intersectable.Hit();
+        Ray ray = new Ray(new Point(3, 0, 0), new Vector(0, 0, -1));
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: A member of a placed collection
+        assertTrue(inner.findClosestHit(ray, hit), "Missing intersection");
+        assertSame(member, hit.geometry, "The hit must be recorded by the member");
+        assertSame(inner, hit.placement, "The hit must be recorded with its placement");
+        Intersectable.GeoPoint gp = hit.toGeoPoint(ray);
+        assertEquals(new Point(3, 0, -9), gp.point, "Wrong hit point");
+        assertEquals(new Vector(0, 0, 1), gp.getNormal(), "Wrong normal of the placed member");
+        assertEquals(new Vector(0, 0, 1), gp.geometry.getNormal(gp.point), "Wrong normal of the placed member");
+
+        // TC02: A member of a collection placed within another placed collection - a half turn about the y axis,
+        // which turns the normal
+        Transformed outer = new Transformed(new Geometries(inner), Matrix.rotation(Vector.Y, 180));
+        ray = new Ray(new Point(-3, 0, 0), new Vector(0, 0, 1));
+        assertTrue(outer.findClosestHit(ray, hit.reset(Double.POSITIVE_INFINITY)), "Missing intersection");
+        assertSame(outer, hit.placement, "The hit must be recorded with the outer placement");
+        gp = hit.toGeoPoint(ray);
+        assertEquals(0, gp.point.distance(new Point(-3, 0, 9)), 1e-10, "Wrong hit point");
+        assertEquals(1, gp.getNormal().dotProduct(new Vector(0, 0, -1)), 1e-10,
+                "Wrong normal of the nested member");
+    }
+}
@@ -0,0 +1,191 @@
+package geometries;
+
+import org.junit.jupiter.api.Test;
+import primitives.Double3;
+import primitives.Point;
+import primitives.Ray;
+import primitives.Vector;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for geometries.TriangleMesh class
+ */
+class TriangleMeshTests {
+    /**
+     * A unit square in the plane z=0 made of two faces, and a triangle above it in the plane z=2.
+     */
+    private final TriangleMesh mesh = new TriangleMesh(
+            new float[]{0, 0, 0, 4, 0, 0, 4, 4, 0, 0, 4, 0, 0, 0, 2, 4, 0, 2, 0, 4, 2},
+            new int[]{0, 1, 2, 0, 2, 3, 4, 5, 6});
+
+    /**
+     * Test method for {@link geometries.TriangleMesh#TriangleMesh(float[], int[])}.
+     */
+    @Test
+    void testConstructor() {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: Correct mesh
+        assertEquals(3, mesh.size(), "Wrong number of faces");
+
+        // TC02: Face with a missing vertex
+        assertThrows(IllegalArgumentException.class, () -> new TriangleMesh(new float[]{0, 0, 0, 1, 0, 0, 0, 1, 0}, new int[]{0, 1, 3}),
+                "Face with a missing vertex must throw exception");
+
+        // TC03: Coordinates that are not triads
+        assertThrows(IllegalArgumentException.class, () -> new TriangleMesh(new float[]{0, 0, 0, 1}, new int[]{}),
+                "Coordinates that are not triads must throw exception");
+    }
+
+    /**
+     * Test method for {@link geometries.TriangleMesh#getNormal(Point)}.
+     */
+    @Test
+    void testGetNormal() {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: A point of the upper triangle
+        assertEquals(new Vector(0, 0, 1), mesh.getNormal(new Point(1, 1, 2)), "Wrong normal of the upper triangle");
+
+        // TC02: A point of the second face of the square
+        assertEquals(new Vector(0, 0, 1), mesh.getNormal(new Point(1, 3, 0)), "Wrong normal of the square");
+
+        // TC03: A point that is not on the mesh
+        assertThrows(IllegalArgumentException.class, () -> mesh.getNormal(new Point(1, 1, 1)),
+                "A point that is not on the mesh must throw exception");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: A point on the diagonal shared by the faces of the square
+        assertEquals(new Vector(0, 0, 1), mesh.getNormal(new Point(2, 2, 0)), "Wrong normal on the shared edge");
+    }
+
+    /**
+     * Test method for {@link geometries.TriangleMesh#findClosestHit(Ray, Intersectable.Hit)}.
+     */
+    @Test
+    void testFindClosestHit() {
+        Intersectable.Hit hit = new Intersectable.Hit();
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: The ray crosses the upper triangle and the second face of the square - the upper triangle is the closest
+        Ray ray = new Ray(new Point(1, 2, 5), new Vector(0, 0, -1));
+        assertTrue(mesh.findClosestHit(ray, hit), "Missing intersection");
+        assertEquals(2, hit.index, "Wrong hit face");
+        assertEquals(3, hit.t, 1e-10, "Wrong hit distance");
+        Intersectable.GeoPoint gp = hit.toGeoPoint(ray);
+        assertEquals(new Point(1, 2, 2), gp.point, "Wrong hit point");
+        assertEquals(new Vector(0, 0, 1), gp.getNormal(), "Wrong normal of the hit face");
+        assertSame(mesh.getMaterial(), gp.getMaterial(), "The hit face must have the mesh's material");
+
+        // TC02: The ray crosses only the first face of the square
+        ray = new Ray(new Point(3.5, 1, 5), new Vector(0, 0, -1));
+        assertTrue(mesh.findClosestHit(ray, hit.reset(Double.POSITIVE_INFINITY)), "Missing intersection");
+        assertEquals(0, hit.index, "Wrong hit face");
+
+        // TC03: The ray misses the bounding box of the mesh
+        assertFalse(mesh.findClosestHit(new Ray(new Point(5, 5, 5), new Vector(0, 0, -1)), hit.reset(Double.POSITIVE_INFINITY)),
+                "Unexpected intersection");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: The mesh is beyond the current closest hit
+        assertFalse(mesh.findClosestHit(new Ray(new Point(1, 2, 5), new Vector(0, 0, -1)), hit.reset(2)),
+                "Unexpected intersection beyond the closest hit");
+    }
+
+    /**
+     * Test method for {@link geometries.TriangleMesh#findClosestHit(Ray, Intersectable.Hit)} - the faces must be hit
+     * exactly as the same triangles, also by the rays that pass on their edges.
+     */
+    @Test
+    void testAgreementWithTriangles() {
+        Point[] points = {new Point(-100, 0, -100), new Point(0, 100, -100), new Point(-100, 100, -100),
+                new Point(0, -100, -100), new Point(-100, -100, -100), new Point(100, 0, -100),
+                new Point(100, -100, -100)};
+        int[] faces = {0, 1, 2, 0, 3, 4, 5, 3, 6};
+        TriangleMesh triangleMesh = new TriangleMesh(points, faces);
+        Geometries triangles = new Geometries();
+        for (int f = 0; f < faces.length; f += 3)
+            triangles.add(new Triangle(points[faces[f]], points[faces[f + 1]], points[faces[f + 2]]));
+        Intersectable.Hit meshHit = new Intersectable.Hit();
+        Intersectable.Hit triangleHit = new Intersectable.Hit();
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: A grid of rays through the pixel centers of a view plane, many of them on the edges of the faces
+        for (double x = -99.75; x < 100; x += 0.5)
+            for (double y = -99.75; y < 100; y += 0.5) {
+                Ray ray = new Ray(Point.ZERO, new Vector(x, y, -100));
+                boolean found = triangles.findClosestHit(ray, triangleHit.reset(Double.POSITIVE_INFINITY));
+                assertEquals(found, triangleMesh.findClosestHit(ray, meshHit.reset(Double.POSITIVE_INFINITY)),
+                        "The mesh and the triangles disagree on the ray through (" + x + ", " + y + ")");
+                if (found)
+                    assertEquals(triangleHit.t, meshHit.t, "Wrong hit distance of the ray through (" + x + ", " + y + ")");
+            }
+    }
+
+    /**
+     * Test method for {@link geometries.TriangleMesh#findTransparency(Ray, double, double, Intersectable.Hit)}.
+     */
+    @Test
+    void testFindTransparency() {
+        Intersectable.Hit hit = new Intersectable.Hit();
+        Ray ray = new Ray(new Point(1, 2, 5), new Vector(0, 0, -1));
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: The ray crosses two faces - it is blocked by the first face found, which is recorded
+        assertEquals(Double3.ZERO, mesh.findTransparency(ray, Double.POSITIVE_INFINITY, 0.001, hit), "Unblocked ray");
+        assertSame(mesh, hit.geometry, "The blocker must be recorded");
+        assertEquals(1, hit.index, "Wrong blocking face");
+
+        // TC02: The ray misses the mesh
+        assertEquals(Double3.ONE, mesh.findTransparency(new Ray(new Point(5, 5, 5), new Vector(0, 0, -1)),
+                Double.POSITIVE_INFINITY, 0.001, hit.reset(Double.POSITIVE_INFINITY)), "Unexpected blocker");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: The faces are beyond the maximum distance
+        assertEquals(Double3.ONE, mesh.findTransparency(ray, 2, 0.001, hit.reset(Double.POSITIVE_INFINITY)),
+                "Unexpected blocker beyond the maximum distance");
+
+        // TC12: Only the upper face is within the maximum distance
+        assertEquals(Double3.ZERO, mesh.findTransparency(ray, 4, 0.001, hit.reset(Double.POSITIVE_INFINITY)),
+                "Unblocked ray");
+        assertEquals(2, hit.index, "Wrong blocking face");
+    }
+
+    /**
+     * Test method for {@link geometries.TriangleMesh#findPrimitiveHit(Ray, int, Intersectable.Hit)}.
+     */
+    @Test
+    void testFindPrimitiveHit() {
+        Intersectable.Hit hit = new Intersectable.Hit();
+        Ray ray = new Ray(new Point(1, 2, 5), new Vector(0, 0, -1));
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: The ray crosses the face - the hit is the face's own, not the closest of the mesh
+        assertTrue(mesh.findPrimitiveHit(ray, 1, hit.reset(Double.POSITIVE_INFINITY)), "Missing intersection");
+        assertEquals(1, hit.index, "Wrong hit face");
+        assertEquals(5, hit.t, 1e-10, "Wrong hit distance");
+
+        // TC02: The ray misses the face, though it crosses other faces of the mesh
+        assertFalse(mesh.findPrimitiveHit(ray, 0, hit.reset(Double.POSITIVE_INFINITY)), "Unexpected intersection");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: The face is beyond the current closest hit
+        assertFalse(mesh.findPrimitiveHit(ray, 2, hit.reset(2)), "Unexpected intersection beyond the closest hit");
+    }
+
+    /**
+     * Test method for {@link geometries.TriangleMesh#findIntersections(Ray)}.
+     */
+    @Test
+    void testFindIntersections() {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: The ray crosses two faces
+        List<Point> result = mesh.findIntersections(new Ray(new Point(1, 2, 5), new Vector(0, 0, -1)));
+        assertNotNull(result, "Missing intersections");
+        assertEquals(2, result.size(), "Wrong number of intersections");
+
+        // TC02: The ray is parallel to the mesh faces
+        assertNull(mesh.findIntersections(new Ray(new Point(-1, 1, 1), new Vector(1, 0, 0))), "Unexpected intersection");
+    }
+}
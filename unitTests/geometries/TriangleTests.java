@@ -51,4 +51,36 @@ class TriangleTests {
         // TC13 : On edge's continuation
         assertNull(triangle.findIntersections(new Ray(new Point(6, 0, 0), new Vector(-8.51, -2.84, 0))), "there is no intersection");
     }
-}
\ No newline at end of file
+
+    /**
+     * Test method for {@link geometries.Triangle#findClosestHit(Ray, Intersectable.Hit)}.
+     */
+    @Test
+    void testFindClosestHit() {
+        final Triangle triangle = new Triangle(new Point(0, 0, 0), new Point(4, 0, 0), new Point(0, 4, 0));
+        Intersectable.Hit hit = new Intersectable.Hit();
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01 : Inside the triangle - distance and barycentric coordinates
+        Ray ray = new Ray(new Point(1, 2, 3), new Vector(0, 0, -1));
+        assertTrue(triangle.findClosestHit(ray, hit), "Missing intersection inside the triangle");
+        assertSame(triangle, hit.geometry, "Wrong hit geometry");
+        assertEquals(3, hit.t, 1e-10, "Wrong hit distance");
+        assertEquals(0.25, hit.u, 1e-10, "Wrong first barycentric coordinate");
+        assertEquals(0.5, hit.v, 1e-10, "Wrong second barycentric coordinate");
+        assertEquals(new Point(1, 2, 0), hit.getPoint(ray), "Wrong hit point");
+        assertEquals(List.of(new Point(1, 2, 0)), triangle.findIntersections(ray), "Wrong intersections list");
+
+        // TC02 : Outside the triangle
+        assertFalse(triangle.findClosestHit(new Ray(new Point(3, 3, 3), new Vector(0, 0, -1)),
+                hit.reset(Double.POSITIVE_INFINITY)), "Unexpected intersection outside the triangle");
+
+        // =============== Boundary Values Tests ==================
+        // TC11 : The triangle is beyond the current closest hit
+        assertFalse(triangle.findClosestHit(ray, hit.reset(2)), "Unexpected intersection beyond the closest hit");
+
+        // TC12 : The ray is parallel to the triangle
+        assertFalse(triangle.findClosestHit(new Ray(new Point(1, 1, 1), new Vector(1, 0, 0)),
+                hit.reset(Double.POSITIVE_INFINITY)), "Unexpected intersection with a parallel ray");
+    }
+}
@@ -5,6 +5,8 @@ import primitives.Point;
 import primitives.Ray;
 import primitives.Vector;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -44,4 +46,48 @@ class TubeTest {
         Vector expected2 = new Vector(0, 2, 0).normalize();
         assertEquals(expected2, tube.getNormal(pBVA), "BVA : Wrong result of normal in tube");
     }
-}
\ No newline at end of file
+
+    /**
+     * Test method for {@link geometries.Tube#findIntersections(Ray)}.
+     */
+    @Test
+    void testFindIntersections() {
+        final Tube tube = new Tube(1, new Ray(new Point(0, 0, 0), new Vector(0, 0, 1)));
+        List<Point> result;
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: The ray's line is outside the tube (0 points)
+        assertNull(tube.findIntersections(new Ray(new Point(2, 0, 0), new Vector(0, 1, 1))), "Ray's line out of tube");
+
+        // TC02: The ray starts before and crosses the tube (2 points)
+        result = tube.findIntersections(new Ray(new Point(-2, 0, 1), new Vector(1, 0, 1)));
+        assertEquals(List.of(new Point(-1, 0, 2), new Point(1, 0, 4)), result, "Ray crosses tube");
+
+        // TC03: The ray starts inside the tube (1 point)
+        result = tube.findIntersections(new Ray(new Point(0, 0.5, 0), new Vector(0, 1, 0)));
+        assertEquals(List.of(new Point(0, 1, 0)), result, "Ray starts inside tube");
+
+        // TC04: The ray starts after the tube (0 points)
+        assertNull(tube.findIntersections(new Ray(new Point(2, 0, 0), new Vector(1, 0, 0))), "Ray starts after tube");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: The ray is parallel to the axis
+        assertNull(tube.findIntersections(new Ray(new Point(0.5, 0, 0), new Vector(0, 0, 1))), "Ray parallel to axis");
+
+        // TC12: The ray is tangent to the tube
+        assertNull(tube.findIntersections(new Ray(new Point(1, -1, 0), new Vector(0, 1, 0))), "Ray tangent to tube");
+
+        // TC13: The ray starts on the tube and goes outside
+        assertNull(tube.findIntersections(new Ray(new Point(1, 0, 0), new Vector(1, 0, 0))), "Ray starts on tube");
+
+        // TC14: The second intersection is beyond the maximum distance
+        assertEquals(1, tube.findGeoIntersections(new Ray(new Point(-2, 0, 0), new Vector(1, 0, 0)), 2).size(),
+                "Wrong number of points within the maximum distance");
+
+        // TC15: The normal at the closest hit is orthogonal to the axis
+        Ray ray = new Ray(new Point(-2, 0.5, 3), new Vector(1, 0, 0));
+        Intersectable.Hit hit = new Intersectable.Hit();
+        assertTrue(tube.findClosestHit(ray, hit), "Missing closest hit");
+        assertEquals(0, tube.getNormal(hit.getPoint(ray)).dotProduct(Vector.Z), 1e-10, "Wrong normal at the hit");
+    }
+}
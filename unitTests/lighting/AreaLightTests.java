@@ -0,0 +1,103 @@
+package lighting;
+
+import org.junit.jupiter.api.Test;
+import primitives.Color;
+import primitives.Point;
+import primitives.Vector;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static primitives.Util.isZero;
+
+/**
+ * Unit tests for the area lights - lighting.RectangleLight, lighting.DiskLight and lighting.SphereLight classes
+ */
+class AreaLightTests {
+    /**
+     * The intensity of the lights in the tests
+     */
+    private final Color intensity = new Color(100, 100, 100);
+
+    /**
+     * Test method for {@link lighting.RectangleLight#getSamplePoint(Point, double, double)}.
+     */
+    @Test
+    void testRectangleSamplePoint() {
+        AreaLight light = new RectangleLight(intensity, new Point(0, 0, 10), new Vector(4, 0, 0), new Vector(0, 2, 0));
+        Point p = Point.ZERO;
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: A sample inside the rectangle
+        assertEquals(new Point(-1, 0.5, 10), light.getSamplePoint(p, 0.25, 0.75), "Wrong inner sample point");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: The corners of the grid are the corners of the rectangle
+        assertEquals(new Point(-2, -1, 10), light.getSamplePoint(p, 0, 0), "Wrong first corner");
+        assertEquals(new Point(2, 1, 10), light.getSamplePoint(p, 1, 1), "Wrong last corner");
+
+        // TC12: The middle of the grid is the center
+        assertEquals(new Point(0, 0, 10), light.getSamplePoint(p, 0.5, 0.5), "Wrong middle sample point");
+
+        // TC13: Parallel edges
+        assertThrows(IllegalArgumentException.class,
+                () -> new RectangleLight(intensity, Point.ZERO, new Vector(1, 0, 0), new Vector(2, 0, 0)),
+                "Parallel edges must throw exception");
+    }
+
+    /**
+     * Test method for {@link lighting.DiskLight#getSamplePoint(Point, double, double)}.
+     */
+    @Test
+    void testDiskSamplePoint() {
+        Point center = new Point(1, 2, 3);
+        AreaLight light = new DiskLight(intensity, center, new Vector(0, 0, 1), 2);
+        Point p = Point.ZERO;
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: Samples inside the grid are inside the disk, on its plane
+        for (double u = 0.1; u < 1; u += 0.2)
+            for (double v = 0.1; v < 1; v += 0.2) {
+                Point sample = light.getSamplePoint(p, u, v);
+                assertTrue(sample.distance(center) < 2, "Sample point out of the disk");
+                assertEquals(3, sample.getXYZ().getD3(), 1e-10, "Sample point out of the disk plane");
+            }
+
+        // =============== Boundary Values Tests ==================
+        // TC11: The corners of the grid are on the rim
+        assertEquals(2, light.getSamplePoint(p, 0, 0).distance(center), 1e-10, "Corner sample not on the rim");
+        assertEquals(2, light.getSamplePoint(p, 1, 0).distance(center), 1e-10, "Corner sample not on the rim");
+
+        // TC12: The middle of the grid is the center
+        assertEquals(center, light.getSamplePoint(p, 0.5, 0.5), "Wrong middle sample point");
+
+        // TC13: Zero radius
+        assertThrows(IllegalArgumentException.class,
+                () -> new DiskLight(intensity, center, new Vector(0, 0, 1), 0), "Zero radius must throw exception");
+    }
+
+    /**
+     * Test method for {@link lighting.SphereLight#getSamplePoint(Point, double, double)}.
+     */
+    @Test
+    void testSphereSamplePoint() {
+        Point center = new Point(0, 0, 10);
+        AreaLight light = new SphereLight(intensity, center, 3);
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: The samples are on the disk facing the lit point
+        Point p = new Point(5, 0, 10);
+        for (double u = 0; u <= 1; u += 0.25)
+            for (double v = 0; v <= 1; v += 0.25) {
+                Point sample = light.getSamplePoint(p, u, v);
+                assertTrue(sample.distance(center) <= 3 + 1e-10, "Sample point out of the sphere");
+                assertTrue(isZero(sample.getXYZ().getD1()), "Sample point not on the disk facing the point");
+            }
+
+        // =============== Boundary Values Tests ==================
+        // TC11: The lit point is the center
+        assertEquals(center, light.getSamplePoint(center, 0, 0), "Wrong sample point from the center");
+
+        // TC12: Grid size lower than 2
+        assertThrows(IllegalArgumentException.class, () -> light.setGridSize(1),
+                "A grid of a single sample must throw exception");
+    }
+}
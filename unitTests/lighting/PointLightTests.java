@@ -0,0 +1,83 @@
+package lighting;
+
+import org.junit.jupiter.api.Test;
+import primitives.Color;
+import primitives.Point;
+import primitives.Vector;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for lighting.PointLight and lighting.SpotLight influence bounds
+ */
+class PointLightTests {
+    /**
+     * The intensity of the lights in the tests
+     */
+    private final Color intensity = new Color(100, 50, 0);
+
+    /**
+     * Test method for {@link lighting.PointLight#getInfluenceRadius()}.
+     */
+    @Test
+    void testInfluenceRadius() {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: Quadratic attenuation - the intensity drops to the minimum at the radius
+        PointLight light = new PointLight(intensity, Point.ZERO).setkQ(0.01).setMinIntensity(1);
+        assertEquals(Math.sqrt(9900), light.getInfluenceRadius(), 1e-10, "Wrong radius of quadratic attenuation");
+
+        // TC02: Linear attenuation
+        light = new PointLight(intensity, Point.ZERO).setMinIntensity(1).setkL(1);
+        assertEquals(99, light.getInfluenceRadius(), 1e-10, "Wrong radius of linear attenuation");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: No minimum intensity
+        assertEquals(Double.POSITIVE_INFINITY, new PointLight(intensity, Point.ZERO).setkQ(0.01).getInfluenceRadius(),
+                "A light without a minimum intensity must have no radius");
+
+        // TC12: No attenuation
+        assertEquals(Double.POSITIVE_INFINITY, new PointLight(intensity, Point.ZERO).setMinIntensity(1)
+                .getInfluenceRadius(), "A light without attenuation must have no radius");
+
+        // TC13: The light is below the minimum everywhere
+        assertEquals(0, new PointLight(intensity, Point.ZERO).setkL(1).setMinIntensity(200).getInfluenceRadius(),
+                "A light below the minimum must have a zero radius");
+
+        // TC14: Negative minimum intensity
+        assertThrows(IllegalArgumentException.class, () -> new PointLight(intensity, Point.ZERO).setMinIntensity(-1),
+                "Negative minimum intensity must throw exception");
+    }
+
+    /**
+     * Test method for {@link lighting.PointLight#reaches(Point)} and {@link lighting.SpotLight#reaches(Point)}.
+     */
+    @Test
+    void testReaches() {
+        PointLight light = new PointLight(intensity, Point.ZERO).setkL(1).setMinIntensity(1);
+        SpotLight spot = new SpotLight(intensity, Point.ZERO, new Vector(0, 0, -1));
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: A point within the radius
+        assertTrue(light.reaches(new Point(0, 50, 0)), "The light must reach a point within its radius");
+
+        // TC02: A point beyond the radius
+        assertFalse(light.reaches(new Point(0, 150, 0)), "The light must not reach a point beyond its radius");
+
+        // TC03: A point in front of the spotlight
+        assertTrue(spot.reaches(new Point(10, 0, -100)), "The spotlight must reach a point in front of it");
+
+        // TC04: A point behind the spotlight
+        assertFalse(spot.reaches(new Point(10, 0, 100)), "The spotlight must not reach a point behind it");
+
+        // TC05: A point off the axis within the radius, where the intensity is still above the minimum
+        SpotLight faded = new SpotLight(intensity, Point.ZERO, new Vector(0, 0, -1)).setkL(1).setMinIntensity(1);
+        assertTrue(faded.reaches(new Point(40, 0, -30)), "The spotlight must reach a point within its cone");
+
+        // TC06: A point far off the axis within the radius, where the intensity is below the minimum
+        assertFalse(faded.reaches(new Point(48, 0, -14)), "The spotlight must not reach a point out of its cone");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: A point at the side of the spotlight
+        assertFalse(spot.reaches(new Point(10, 0, 0)), "The spotlight must not reach a point at its side");
+    }
+}
@@ -0,0 +1,27 @@
+package primitives;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for primitives.ColorAccumulator class
+ */
+class ColorAccumulatorTests {
+    /**
+     * Test method for {@link primitives.ColorAccumulator#add(primitives.Color, double, double, double)}.
+     */
+    @Test
+    void testAdd() {
+        ColorAccumulator sum = new ColorAccumulator();
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: Plain and scaled contributions are summed by component
+        sum.add(new Color(10, 20, 30)).add(new Color(100, 100, 100), 0.5, 0.25, 0).add(new Color(4, 4, 4), new Double3(1, 2, 3));
+        assertEquals(new Color(64, 53, 42).toString(), sum.toColor().toString(), "Wrong accumulated color");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: Reset to black
+        assertEquals(Color.BLACK.toString(), sum.reset().toColor().toString(), "Wrong color after reset");
+    }
+}
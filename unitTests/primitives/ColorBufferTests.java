@@ -0,0 +1,55 @@
+package primitives;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for primitives.ColorBuffer class
+ */
+class ColorBufferTests {
+    /**
+     * Test method for {@link primitives.ColorBuffer#add(primitives.ColorBuffer)},
+     * {@link primitives.ColorBuffer#product(primitives.ColorBuffer)} and
+     * {@link primitives.ColorBuffer#scale(primitives.Double3)}.
+     */
+    @Test
+    void testBulkOperations() {
+        ColorBuffer a = new ColorBuffer(2).set(0, new Color(1, 2, 3)).set(1, new Color(4, 5, 6));
+        ColorBuffer b = new ColorBuffer(2).fill(new Color(2, 2, 2));
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: Add, multiply and scale the colors by component
+        a.add(b).product(b).scale(new Double3(1, 0.5, 2)).scale(2);
+        assertEquals(new Color(12, 8, 40).toString(), a.get(0).toString(), "Wrong first color");
+        assertEquals(new Color(24, 14, 64).toString(), a.get(1).toString(), "Wrong second color");
+
+        // TC02: Buffers of different sizes
+        assertThrows(IllegalArgumentException.class, () -> a.add(new ColorBuffer(3)), "Different sizes must throw exception");
+
+        // TC03: Negative scale factor
+        assertThrows(IllegalArgumentException.class, () -> a.scale(-1), "Negative factor must throw exception");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: Empty buffer
+        assertEquals(0, new ColorBuffer(0).add(new ColorBuffer(0)).scale(2).size(), "Wrong empty buffer");
+    }
+
+    /**
+     * Test method for {@link primitives.ColorBuffer#toPackedRGB(int[])} and
+     * {@link primitives.ColorBuffer#clamp(double)}.
+     */
+    @Test
+    void testToPackedRGB() {
+        ColorBuffer buffer = new ColorBuffer(2).set(0, new Color(10.5, 20, 30)).set(1, new Color(300, 255, 0));
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: Same conversion as java.awt.Color, components above 255 are saturated
+        int[] packed = buffer.toPackedRGB(new int[2]);
+        assertEquals(new Color(10.5, 20, 30).getColor().getRGB() & 0xFFFFFF, packed[0], "Wrong packed color");
+        assertEquals(0xFFFF00, packed[1], "Wrong saturated color");
+
+        // TC02: Clamp the components
+        assertEquals(new Color(10.5, 20, 20).toString(), buffer.clamp(20).get(0).toString(), "Wrong clamped color");
+    }
+}
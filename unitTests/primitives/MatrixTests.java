@@ -0,0 +1,46 @@
+package primitives;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for primitives.Matrix class
+ */
+class MatrixTests {
+    /**
+     * Test method for {@link primitives.Matrix#rotation(Vector, double)}.
+     */
+    @Test
+    void testRotation() {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: Quarter turn around z
+        Vector rotated = Matrix.rotation(new Vector(0, 0, 1), 90).transformVector(new Vector(1, 0, 0));
+        assertEquals(new Vector(0, 1, 0), rotated, "Wrong rotated vector");
+    }
+
+    /**
+     * Test method for {@link primitives.Matrix#multiply(Matrix)} and {@link primitives.Matrix#inverse()}.
+     */
+    @Test
+    void testInverse() {
+        Matrix m = Matrix.translation(new Vector(1, 2, 3))
+                .multiply(Matrix.rotation(new Vector(1, 1, 0), 30))
+                .multiply(Matrix.scaling(2, 3, 4));
+        Point p = new Point(-1, 5, 2);
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: The composition applies the right operand first
+        assertEquals(new Point(3, 2, 3), Matrix.translation(new Vector(1, 2, 3)).multiply(Matrix.scaling(2, 3, 4))
+                .transformPoint(new Point(1, 0, 0)), "Wrong composition order");
+
+        // TC02: The inverse restores the point
+        Point restored = m.inverse().transformPoint(m.transformPoint(p));
+        assertEquals(p, restored, "Wrong inverse transformation");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: Singular transformation
+        assertThrows(IllegalArgumentException.class, () -> new Matrix(1, 0, 0, 0, 0, 1, 0, 0, 1, 1, 0, 0).inverse(),
+                "Inverting a singular matrix must throw exception");
+    }
+}
@@ -0,0 +1,114 @@
+package primitives;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for primitives.Vec3 class
+ */
+class Vec3Tests {
+    /**
+     * Test method for {@link primitives.Vec3#cross(primitives.Vector, primitives.Vector)}.
+     */
+    @Test
+    public void testCross() {
+        Vector v1 = new Vector(1, 2, 3);
+        Vector v2 = new Vector(0, 3, -2);
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: The same result as the immutable cross product, overwriting the previous coordinates
+        Vec3 w = new Vec3(7, 8, 9);
+        assertSame(w, w.cross(v1, v2), "cross must return this");
+        assertEquals(v1.crossProduct(v2), w.toVector(), "Wrong cross product");
+
+        // TC02: Anti-commutativity
+        assertEquals(v1.crossProduct(v2).scale(-1), new Vec3().cross(v2, v1).toVector(), "Wrong reversed cross product");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: The cross product of a vector with itself is zero - no exception until the conversion
+        Vec3 zero = new Vec3().cross(v1, v1);
+        assertEquals(0, zero.lengthSquared(), "The cross product of parallel vectors must be zero");
+        assertThrows(IllegalArgumentException.class, zero::toVector, "A zero triad must not become a vector");
+
+        // TC12: An operand taken from the target itself - the old coordinates are read before they are set
+        Vec3 x = new Vec3(Vector.X);
+        assertEquals(Vector.Z, x.cross(x.toVector(), Vector.Y).toVector(), "Wrong cross product of the target");
+    }
+
+    /**
+     * Test method for {@link primitives.Vec3#normalize()}.
+     */
+    @Test
+    public void testNormalize() {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: A unit triad in the same direction, identical to the immutable normalization
+        Vector v = new Vector(1, 2, 3);
+        Vec3 n = new Vec3(v);
+        assertSame(n, n.normalize(), "normalize must return this");
+        assertEquals(1d, n.lengthSquared(), 0.00001, "Wrong normalized triad length");
+        Vector expected = v.normalize();
+        assertEquals(expected.getXYZ().getD1(), n.x, "The normalization differs from Vector's");
+        assertEquals(expected.getXYZ().getD2(), n.y, "The normalization differs from Vector's");
+        assertEquals(expected.getXYZ().getD3(), n.z, "The normalization differs from Vector's");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: A unit triad stays the same
+        assertEquals(new Vector(0, 0.6, 0.8), new Vec3(0, 0.6, 0.8).normalize().toVector(), "Wrong unit triad");
+    }
+
+    /**
+     * Test method for {@link primitives.Vec3#scaleAdd(double, primitives.Vector)}.
+     */
+    @Test
+    public void testScaleAdd() {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: this + scalar * vec
+        Vec3 p = new Vec3(1, 2, 3);
+        assertSame(p, p.scaleAdd(2, new Vector(1, -1, 0.5)), "scaleAdd must return this");
+        assertEquals(new Point(3, 0, 4), p.toPoint(), "Wrong scaled addition");
+
+        // TC02: A negative scalar subtracts
+        assertEquals(new Point(1, 2, 3), p.scaleAdd(-2, new Vector(1, -1, 0.5)).toPoint(), "Wrong scaled subtraction");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: A zero scalar leaves the triad
+        assertEquals(new Point(1, 2, 3), p.scaleAdd(0, Vector.X).toPoint(), "A zero scalar must not move the triad");
+
+        // TC12: The vector of the target itself - the triad is scaled by 1 + scalar
+        assertEquals(new Point(3, 6, 9), p.scaleAdd(2, p.toVector()).toPoint(), "Wrong scaled addition of the target");
+    }
+
+    /**
+     * Test method for the in-place operations of {@link primitives.Vec3}.
+     */
+    @Test
+    public void testAliasing() {
+        Point point = new Point(1, 2, 3);
+        Vector vector = new Vector(1, 1, 1);
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: A chain of operations mutates one triad
+        Vec3 w = new Vec3(point);
+        assertSame(w, w.add(vector).subtract(point).scale(2), "The operations must return this");
+        assertEquals(new Vector(2, 2, 2), w.toVector(), "Wrong chained operations");
+
+        // TC02: The triad copies its operands - they don't change
+        assertEquals(new Point(1, 2, 3), point, "The source point changed");
+        assertEquals(new Vector(1, 1, 1), vector, "The operand vector changed");
+
+        // TC03: The converted point and vector are copies - they don't follow later changes of the triad
+        Point copy = w.toPoint();
+        Vector trusted = w.toTrustedVector();
+        w.set(5, 5, 5);
+        assertEquals(new Point(2, 2, 2), copy, "The converted point follows the triad");
+        assertEquals(new Vector(2, 2, 2), trusted, "The converted vector follows the triad");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: Adding the triad to itself doubles it
+        assertEquals(new Point(10, 10, 10), w.add(w.toPoint()).toPoint(), "Wrong addition of the triad to itself");
+
+        // TC12: Subtracting the triad from itself zeroes it
+        assertEquals(0, w.subtract(w.toPoint()).lengthSquared(), "Wrong subtraction of the triad from itself");
+    }
+}
@@ -1,6 +1,6 @@
 package renderer;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.*;
 
 import org.junit.jupiter.api.Test;
 
@@ -66,4 +66,130 @@ class CameraTest {
         assertEquals(new Ray(Point.ZERO, new Vector(2, -2, -10)),
                 camera2.constructRay(3, 3, 0, 0), badRay);
     }
-}
\ No newline at end of file
+
+    /**
+     * Test method for {@link renderer.Camera.Builder#setAdaptiveSuperSampling(int, double)}.
+     */
+    @Test
+    void testAdaptiveSuperSampling() {
+        int[] rays = {0};
+        // A view with a vertical edge through the middle of the view plane
+        RayTracerBase edge = new RayTracerBase(new Scene("Test")) {
+            @Override
+            public Color traceRay(Ray ray) {
+                rays[0]++;
+                return ray.getDirection().getXYZ().getD1() < 0.01 ? Color.BLACK : new Color(255, 255, 255);
+            }
+        };
+        // A uniform view
+        RayTracerBase uniform = new RayTracerBase(new Scene("Test")) {
+            @Override
+            public Color traceRay(Ray ray) {
+                rays[0]++;
+                return new Color(100, 100, 100);
+            }
+        };
+        Camera.Builder builder = Camera.getBuilder()
+                .setImageWriter(new renderer.ImageWriter("Test", 10, 10))
+                .setLocation(Point.ZERO)
+                .setDirection(new Vector(0, 0, -1), new Vector(0, -1, 0))
+                .setVpDistance(10).setVpSize(10, 10)
+                .setAdaptiveSuperSampling(3, 1);
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: Uniform view - only the pixel corners are traced, each once
+        builder.setRayTracer(uniform).build().renderImage();
+        assertEquals(11 * 11, rays[0], "Wrong number of rays for a uniform view");
+
+        // TC02: Edge - only the pixels on the edge are subdivided, far less than uniform supersampling
+        rays[0] = 0;
+        builder.setRayTracer(edge).build().renderImage();
+        assertTrue(rays[0] > 11 * 11 && rays[0] < 10 * 10 * 9 * 9 / 4, "Wrong number of rays for an edge: " + rays[0]);
+
+        // =============== Boundary Values Tests ==================
+        // TC11: Negative depth
+        assertThrows(IllegalArgumentException.class, () -> Camera.getBuilder().setAdaptiveSuperSampling(-1, 1),
+                "Negative depth must throw exception");
+    }
+
+    /**
+     * Test method for {@link renderer.Camera.Builder#setPixelSampler(PixelSampler)}.
+     */
+    @Test
+    void testPixelSampler() {
+        int[] rays = {0};
+        // A view with a vertical edge through the middle of the view plane
+        RayTracerBase edge = new RayTracerBase(new Scene("Test")) {
+            @Override
+            public Color traceRay(Ray ray) {
+                rays[0]++;
+                return ray.getDirection().getXYZ().getD1() < 0 ? Color.BLACK : new Color(200, 200, 200);
+            }
+        };
+        renderer.ImageWriter imageWriter = new renderer.ImageWriter("Test", 1, 1);
+        Camera.Builder builder = Camera.getBuilder()
+                .setRayTracer(edge)
+                .setImageWriter(imageWriter)
+                .setLocation(Point.ZERO)
+                .setDirection(new Vector(0, 0, -1), new Vector(0, -1, 0))
+                .setVpDistance(10).setVpSize(2, 2);
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: Every sample of the pixel is traced
+        builder.setPixelSampler(new PixelSampler(PixelSampler.Pattern.GRID, 16)).build().renderImage();
+        assertEquals(16, rays[0], "Wrong number of rays");
+        Camera.Builder withAdaptive = builder.setAdaptiveSuperSampling(1, 1);
+
+        // =============== Boundary Values Tests ==================
+        // TC11: Adaptive supersampling cannot be combined with a pixel sampler
+        assertThrows(IllegalArgumentException.class, withAdaptive::build, "Combined anti-aliasing must throw exception");
+    }
+
+    /**
+     * Test method for {@link renderer.Camera.Builder#setDepthOfField(double, double)}.
+     */
+    @Test
+    void testDepthOfField() {
+        int[] rays = {0};
+        double[] edgeDistance = {0};
+        // A view with a vertical edge through the middle of a plane at a given distance
+        RayTracerBase edge = new RayTracerBase(new Scene("Test")) {
+            @Override
+            public Color traceRay(Ray ray) {
+                rays[0]++;
+                Double3 head = ray.getHead().getXYZ(), direction = ray.getDirection().getXYZ();
+                double t = (-edgeDistance[0] - head.getD3()) / direction.getD3();
+                return head.getD1() + t * direction.getD1() < 0 ? Color.BLACK : new Color(255, 255, 255);
+            }
+        };
+        Camera.Builder builder = Camera.getBuilder()
+                .setRayTracer(edge)
+                .setImageWriter(new renderer.ImageWriter("Test", 10, 10))
+                .setLocation(Point.ZERO)
+                .setDirection(new Vector(0, 0, -1), new Vector(0, -1, 0))
+                .setVpDistance(10).setVpSize(10, 10)
+                .setDepthOfField(5, 100).setApertureSampling(32, 1);
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: The edge is in focus - only the lens probes are traced
+        edgeDistance[0] = 100;
+        builder.build().renderImage();
+        assertEquals(10 * 10 * 4, rays[0], "Wrong number of rays for an edge in focus");
+
+        // TC02: The edge is out of focus - the pixels near the edge trace all the lens samples
+        rays[0] = 0;
+        edgeDistance[0] = 20;
+        builder.build().renderImage();
+        assertTrue(rays[0] > 10 * 10 * 4 && rays[0] < 10 * 10 * 36,
+                "Wrong number of rays for an edge out of focus: " + rays[0]);
+
+        // =============== Boundary Values Tests ==================
+        // TC11: Negative aperture radius
+        assertThrows(IllegalArgumentException.class, () -> Camera.getBuilder().setDepthOfField(-1, 100),
+                "Negative aperture radius must throw exception");
+
+        // TC12: Zero focal distance
+        assertThrows(IllegalArgumentException.class, () -> Camera.getBuilder().setDepthOfField(1, 0),
+                "Zero focal distance must throw exception");
+    }
+}
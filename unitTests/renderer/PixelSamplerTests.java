@@ -0,0 +1,50 @@
+package renderer;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for renderer.PixelSampler class
+ */
+class PixelSamplerTests {
+    /**
+     * Test method for {@link renderer.PixelSampler#PixelSampler(PixelSampler.Pattern, int)}.
+     */
+    @Test
+    void testConstructor() {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: Grid pattern with a number of samples that is not a square
+        assertThrows(IllegalArgumentException.class, () -> new PixelSampler(PixelSampler.Pattern.JITTERED, 5),
+                "Non square grid must throw exception");
+
+        // TC02: Random pattern with any number of samples
+        assertEquals(5, new PixelSampler(PixelSampler.Pattern.RANDOM, 5).getSamples(), "Wrong number of samples");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: No samples
+        assertThrows(IllegalArgumentException.class, () -> new PixelSampler(PixelSampler.Pattern.RANDOM, 0),
+                "Zero samples must throw exception");
+    }
+
+    /**
+     * Test method for {@link renderer.PixelSampler#getOffsets(int, int)}.
+     */
+    @Test
+    void testGetOffsets() {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: Regular grid - the centers of the sub-pixels
+        assertArrayEquals(new double[]{-0.25, -0.25, 0.25, -0.25, -0.25, 0.25, 0.25, 0.25},
+                new PixelSampler(PixelSampler.Pattern.GRID, 4).getOffsets(3, 5), 1e-12, "Wrong grid offsets");
+
+        // TC02: Jittered - one sample in each sub-pixel, tables are reused and differ between neighbours
+        PixelSampler jittered = new PixelSampler(PixelSampler.Pattern.JITTERED, 9);
+        double[] offsets = jittered.getOffsets(0, 0);
+        for (int s = 0; s < 9; s++) {
+            assertEquals(s % 3, (int) Math.floor((offsets[2 * s] + 0.5) * 3), "Sample out of its column");
+            assertEquals(s / 3, (int) Math.floor((offsets[2 * s + 1] + 0.5) * 3), "Sample out of its row");
+        }
+        assertSame(offsets, jittered.getOffsets(0, 0), "The table of a pixel must be reused");
+        assertNotSame(offsets, jittered.getOffsets(1, 0), "Neighbouring pixels must use different tables");
+    }
+}
@@ -4,6 +4,7 @@ import static java.awt.Color.*;
 
 import org.junit.jupiter.api.Test;
 
+import geometries.Polygon;
 import geometries.Sphere;
 import geometries.Triangle;
 import lighting.AmbientLight;
@@ -111,4 +112,36 @@ public class ReflectionRefractionTests {
                 .renderImage()
                 .writeToImage();
     }
-}
\ No newline at end of file
+
+    /**
+     * Produce a picture of spheres on a brushed metal floor, partially behind a frosted glass pane -
+     * glossy reflection and blurry refraction
+     */
+    @Test
+    public void glossyAndBlurry() {
+        scene.geometries.add(
+                new Polygon(new Point(-200, -100, -400), new Point(200, -100, -400), new Point(200, -100, 100),
+                        new Point(-200, -100, 100))
+                        .setEmission(new Color(20, 20, 20))
+                        .setMaterial(new Material().setkD(0.2).setkR(0.6).setGlossiness(4)),
+                new Sphere(50d, new Point(-70, -50, -250)).setEmission(new Color(RED))
+                        .setMaterial(new Material().setkD(0.5).setkS(0.5).setnShininess(60)),
+                new Sphere(50d, new Point(70, -50, -250)).setEmission(new Color(BLUE))
+                        .setMaterial(new Material().setkD(0.5).setkS(0.5).setnShininess(60)),
+                new Polygon(new Point(0, -100, -100), new Point(150, -100, -100), new Point(150, 100, -100),
+                        new Point(0, 100, -100))
+                        .setEmission(new Color(10, 10, 15))
+                        .setMaterial(new Material().setkT(0.8).setBlurriness(3)));
+        scene.setAmbientLight(new AmbientLight(new Color(WHITE), 0.15));
+        scene.lights.add(
+                new SpotLight(new Color(700, 700, 700), new Point(0, 200, 0), new Vector(0, -1, -1))
+                        .setkL(4E-5).setkQ(2E-7));
+
+        cameraBuilder.setLocation(new Point(0, 0, 1000)).setVpDistance(1000)
+                .setVpSize(300, 300)
+                .setImageWriter(new ImageWriter("glossyBlurry", 500, 500))
+                .build()
+                .renderImage()
+                .writeToImage();
+    }
+}
@@ -6,6 +6,7 @@ import org.junit.jupiter.api.Test;
 
 import geometries.*;
 import lighting.AmbientLight;
+import lighting.SphereLight;
 import lighting.SpotLight;
 import primitives.*;
 import renderer.*;
@@ -136,4 +137,24 @@ public class ShadowTests {
                 .renderImage()
                 .writeToImage();
     }
-}
\ No newline at end of file
+
+    /**
+     * Produce a picture of a sphere over a plane lighted by a spherical area light - a soft shadow
+     * with a penumbra
+     */
+    @Test
+    public void sphereSoftShadow() {
+        scene.geometries.add(sphere,
+                new Plane(new Point(0, 0, -400), new Vector(0, 0, 1)) //
+                        .setMaterial(trMaterial));
+        scene.setAmbientLight(new AmbientLight(new Color(WHITE), 0.15));
+        scene.lights.add(
+                new SphereLight(new Color(400, 240, 0), new Point(-100, -100, 200), 40) //
+                        .setGridSize(9).setkL(1E-5).setkQ(1.5E-7));
+
+        camera.setImageWriter(new ImageWriter("shadowSphereSoft", 400, 400))
+                .build()
+                .renderImage()
+                .writeToImage();
+    }
+}
@@ -0,0 +1,239 @@
+package renderer;
+
+import geometries.Intersectable;
+import geometries.Plane;
+import geometries.RayBatch;
+import geometries.Sphere;
+import lighting.AmbientLight;
+import lighting.AreaLight;
+import lighting.PointLight;
+import lighting.RectangleLight;
+import org.junit.jupiter.api.Test;
+import primitives.*;
+import scene.Scene;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for renderer.SimpleRayTracer class
+ */
+class SimpleRayTracerTests {
+    /**
+     * The number of the intersection queries of the mirrors
+     */
+    private int queries = 0;
+
+    /**
+     * The number of the intersection queries of the spheres that are off the paths of the rays
+     */
+    private int distractorQueries = 0;
+
+    /**
+     * Creates a sphere off the paths of the rays, which counts its intersection queries.
+     *
+     * @param center the center of the sphere.
+     * @return the sphere.
+     */
+    private Sphere distractor(Point center) {
+        return new Sphere(5d, center) {
+            @Override
+            protected boolean findClosestHitHelper(Ray ray, Intersectable.Hit hit) {
+                ++distractorQueries;
+                return super.findClosestHitHelper(ray, hit);
+            }
+        };
+    }
+
+    /**
+     * Creates a mirror of the corridor, which counts its intersection queries.
+     *
+     * @param point  a point on the mirror.
+     * @param normal the normal of the mirror.
+     * @return the mirror.
+     */
+    private Plane mirror(Point point, Vector normal) {
+        Plane plane = new Plane(point, normal) {
+            @Override
+            protected boolean findClosestHitHelper(Ray ray, Intersectable.Hit hit) {
+                ++queries;
+                return super.findClosestHitHelper(ray, hit);
+            }
+        };
+        plane.setEmission(new Color(100, 0, 0)).setMaterial(new Material().setkR(0.5));
+        return plane;
+    }
+
+    /**
+     * Test method for {@link renderer.SimpleRayTracer#setRussianRoulette(int)}.
+     */
+    @Test
+    void testRussianRoulette() {
+        // A corridor of two parallel mirrors - the ray bounces between them up to the maximum level
+        Scene scene = new Scene("Test");
+        scene.geometries.add(mirror(Point.ZERO, new Vector(0, 0, 1)), mirror(new Point(0, 0, -10), new Vector(0, 0, 1)));
+        Ray ray = new Ray(new Point(0, 0, -5), new Vector(0, 0, 1));
+        double expected = 100 * (2 - Math.pow(0.5, 9)); // The emission of 10 levels at the attenuations 1, 0.5, 0.25...
+        int traces = 20000;
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: Without Russian roulette every path goes through all the levels
+        SimpleRayTracer tracer = new SimpleRayTracer(scene);
+        assertEquals(expected, tracer.traceRay(ray).getColor().getRed(), 1, "Wrong color without Russian roulette");
+        int fullQueries = queries;
+
+        // TC02: With Russian roulette from the first bounce, the average color is the same (unbiased),
+        // with far fewer intersection queries
+        tracer.setRussianRoulette(1);
+        queries = 0;
+        ColorAccumulator sum = new ColorAccumulator();
+        for (int i = 0; i < traces; ++i)
+            sum.add(tracer.traceRay(ray));
+        assertEquals(expected, sum.r / traces, 4, "Biased color with Russian roulette");
+        assertTrue(queries < fullQueries * traces / 3, "Too many intersection queries with Russian roulette: " + queries);
+
+        // =============== Boundary Values Tests ==================
+        // TC11: Negative depth
+        assertThrows(IllegalArgumentException.class, () -> tracer.setRussianRoulette(-1),
+                "Negative depth must throw exception");
+    }
+
+    /**
+     * Test method for the background of the secondary rays in {@link renderer.SimpleRayTracer#traceRay(Ray)}.
+     */
+    @Test
+    void testSecondaryBackground() {
+        // A transparent sphere in front of the background - the ray through the center passes both sides of it
+        Scene scene = new Scene("Test").setBackground(new Color(100, 100, 100));
+        scene.geometries.add(new Sphere(1d, new Point(0, 0, -5)).setMaterial(new Material().setkT(0.5)));
+        Ray ray = new Ray(Point.ZERO, new Vector(0, 0, -1));
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: The refracted ray misses - the background is attenuated by the first side only
+        assertTrue(new Color(50, 50, 50).isSimilar(new SimpleRayTracer(scene).traceRay(ray), 1e-10),
+                "Wrong background of a missed secondary ray");
+    }
+
+    /**
+     * Test method for {@link renderer.SimpleRayTracer#traceRays(Ray[], Color[], int)}.
+     */
+    @Test
+    void testTraceRays() {
+        // A reflecting sphere above a plane - the primary rays hit the sphere, the plane or nothing
+        Scene scene = new Scene("Test").setBackground(new Color(10, 20, 30));
+        scene.geometries.add(new Sphere(20d, new Point(0, 0, -100)) {
+                    @Override
+                    protected void findClosestHitsHelper(RayBatch batch) {
+                        ++queries;
+                        super.findClosestHitsHelper(batch);
+                    }
+                }.setEmission(new Color(60, 20, 20)).setMaterial(new Material().setkD(0.5).setkS(0.3).setkR(0.3)),
+                new Plane(new Point(0, -30, 0), new Vector(0, 1, 0))
+                        .setEmission(new Color(20, 60, 20)).setMaterial(new Material().setkD(0.5)));
+        scene.setAmbientLight(new AmbientLight(new Color(255, 255, 255), 0.1));
+        scene.lights.add(new PointLight(new Color(500, 400, 300), new Point(50, 100, 0)).setkL(1e-4));
+        int n = 30;
+        Ray[] rays = new Ray[n * n];
+        for (int i = 0; i < n; ++i)
+            for (int j = 0; j < n; ++j)
+                rays[i * n + j] = new Ray(Point.ZERO, new Vector(j - n / 2.0, n / 2.0 - i, -n));
+        Color[] colors = new Color[rays.length];
+        SimpleRayTracer tracer = new SimpleRayTracer(scene);
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: A batch of rays - one batch query of the primary rays, and the colors of the single rays
+        tracer.traceRays(rays, colors, rays.length);
+        assertEquals(1, queries, "The primary rays must be intersected as one batch");
+        for (int r = 0; r < rays.length; ++r)
+            assertEquals(tracer.traceRay(rays[r]).getColor(), colors[r].getColor(), "Wrong color of ray " + r);
+
+        // =============== Boundary Values Tests ==================
+        // TC11: A part of the arrays - the rest of the colors stay untouched
+        Color[] part = new Color[rays.length];
+        tracer.traceRays(rays, part, 1);
+        assertEquals(colors[0].getColor(), part[0].getColor(), "Wrong color of the first ray");
+        assertNull(part[1], "A ray beyond the count must not be traced");
+    }
+
+    /**
+     * Calculates the transparency of a point towards an area light by brute force - the average of the shadow rays
+     * to a dense grid of points on the light.
+     *
+     * @param scene the scene.
+     * @param p     the point.
+     * @param light the area light.
+     * @return the average transparency.
+     */
+    private double bruteForceTransparency(Scene scene, Point p, AreaLight light) {
+        int size = 101;
+        double sum = 0;
+        for (int a = 0; a < size; ++a)
+            for (int b = 0; b < size; ++b) {
+                Point sample = light.getSamplePoint(p, a / (size - 1.0), b / (size - 1.0));
+                sum += scene.geometries.findTransparency(new Ray(p, sample.subtract(p)), p.distance(sample), 0.001)
+                        .getD1();
+            }
+        return sum / (size * size);
+    }
+
+    /**
+     * Test method for the shadow rays of the area lights in
+     * {@link renderer.SimpleRayTracer#transparency(Intersectable.GeoPoint, Vector, Vector, lighting.LightSource)}.
+     */
+    @Test
+    void testAreaTransparency() {
+        // A point on a floor under a square light, with a sphere halfway to the light
+        AreaLight light = new RectangleLight(new Color(100, 100, 100), new Point(0, 0, 100),
+                new Vector(100, 0, 0), new Vector(0, 100, 0)).setGridSize(9);
+        Point p = Point.ZERO;
+        Vector n = new Vector(0, 0, 1);
+        Intersectable.GeoPoint gp = new Intersectable.GeoPoint(new Plane(p, n), p);
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: The sphere passes between the corner rays, and shadows the middle of the light
+        // TC02: A larger sphere that still passes between the corner rays
+        for (double radius : new double[]{15, 20}) {
+            Scene scene = new Scene("Test");
+            scene.geometries.add(new Sphere(radius, new Point(0, 0, 50)));
+            double expected = bruteForceTransparency(scene, p, light);
+            assertEquals(expected, new SimpleRayTracer(scene).transparency(gp, light.getL(p), n, light).getD1(), 0.05,
+                    "Wrong transparency towards an area light behind a sphere of radius " + radius);
+        }
+
+        // TC03: Nothing blocks the light
+        Scene scene = new Scene("Test");
+        scene.geometries.add(new Sphere(10d, new Point(500, 0, 50)));
+        assertEquals(1, new SimpleRayTracer(scene).transparency(gp, light.getL(p), n, light).getD1(), 1e-10,
+                "Wrong transparency towards an unblocked area light");
+    }
+
+    /**
+     * Test method for the occluder cache of the shadow rays in {@link renderer.SimpleRayTracer#traceRay(Ray)}.
+     */
+    @Test
+    void testOccluderCache() {
+        // A floor shadowed by a sphere under a light, with spheres off the paths of the rays
+        Scene scene = new Scene("Test").setAmbientLight(new AmbientLight(new Color(255, 255, 255), 0.1));
+        scene.geometries.add(new Plane(Point.ZERO, new Vector(0, 1, 0)).setMaterial(new Material().setkD(0.5)));
+        int distractors = 20;
+        for (int i = 0; i < distractors; ++i)
+            scene.geometries.add(distractor(new Point(1000 + 30 * i, 500, 0)));
+        scene.geometries.add(new Sphere(10d, new Point(0, 50, 0)));
+        scene.lights.add(new PointLight(new Color(500, 500, 500), new Point(0, 100, 0)));
+        SimpleRayTracer tracer = new SimpleRayTracer(scene);
+        Color shadowed = new Color(25.5, 25.5, 25.5); // The ambient light only
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: Points in the shadow - after the first one, the shadow rays are answered by the occluder alone
+        int rays = 0;
+        for (double x = -5; x <= 5; x += 1)
+            for (double z = -5; z <= 5; z += 1, ++rays)
+                assertTrue(shadowed.isSimilar(tracer.traceRay(new Ray(new Point(x, 10, z), new Vector(0, -1, 0))),
+                        1e-10), "Wrong color of a shadowed point");
+        assertTrue(distractorQueries <= rays * distractors + distractors, // The primary rays and one traversal
+                "Too many intersection queries of the shadow rays: " + distractorQueries);
+
+        // TC02: A point out of the shadow - the occluder doesn't block it
+        assertFalse(shadowed.isSimilar(tracer.traceRay(new Ray(new Point(50, 10, 0), new Vector(0, -1, 0))), 1),
+                "Wrong color of a lit point");
+    }
+}
@@ -0,0 +1,75 @@
+package renderer;
+
+import geometries.Plane;
+import geometries.Sphere;
+import geometries.Triangle;
+import lighting.AmbientLight;
+import lighting.PointLight;
+import lighting.SphereLight;
+import lighting.SpotLight;
+import org.junit.jupiter.api.Test;
+import primitives.*;
+import scene.Scene;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for renderer.WavefrontRayTracer class
+ */
+class WavefrontRayTracerTests {
+    /**
+     * Test method for {@link renderer.WavefrontRayTracer#traceRays(Ray[], Color[], int)} - the staged tracer must
+     * produce the same colors as the simple tracer.
+     */
+    @Test
+    void testTraceRays() {
+        Scene scene = new Scene("Test").setBackground(new Color(10, 20, 30));
+        scene.geometries.add(
+                new Sphere(50d, new Point(-50, 0, -100)).setEmission(new Color(20, 20, 60))
+                        .setMaterial(new Material().setkD(0.3).setkS(0.3).setnShininess(30).setkT(0.4).setkR(0.2)),
+                new Sphere(30d, new Point(60, 10, -80)).setEmission(new Color(60, 20, 20))
+                        .setMaterial(new Material().setkD(0.2).setkR(0.6).setGlossiness(3)),
+                new Triangle(new Point(-200, -50, 0), new Point(200, -50, 0), new Point(0, -50, -400))
+                        .setMaterial(new Material().setkD(0.5).setkR(0.3)),
+                new Plane(new Point(0, 0, -300), new Vector(0, 0, 1))
+                        .setMaterial(new Material().setkD(0.4).setkT(new Double3(0.2, 0, 0))));
+        scene.setAmbientLight(new AmbientLight(new Color(255, 255, 255), 0.1));
+        scene.lights.add(new PointLight(new Color(500, 400, 300), new Point(0, 200, 100)).setkL(1e-4));
+        scene.lights.add(new SpotLight(new Color(300, 300, 500), new Point(-100, 100, 50), new Vector(1, -1, -2)));
+        scene.lights.add(new SphereLight(new Color(200, 200, 200), new Point(100, 100, 0), 20).setGridSize(4));
+
+        Camera camera = Camera.getBuilder()
+                .setRayTracer(new SimpleRayTracer(scene))
+                .setImageWriter(new ImageWriter("Test", 1, 1))
+                .setLocation(new Point(0, 0, 300))
+                .setDirection(new Vector(0, 0, -1), Vector.Y)
+                .setVpDistance(300).setVpSize(300, 300)
+                .build();
+        int n = 40;
+        Ray[] rays = new Ray[n * n];
+        for (int i = 0; i < n; ++i)
+            for (int j = 0; j < n; ++j)
+                rays[i * n + j] = camera.constructRay(n, n, j, i);
+        Color[] expected = new Color[rays.length];
+        Color[] actual = new Color[rays.length];
+        new SimpleRayTracer(scene).traceRays(rays, expected, rays.length);
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: A batch of rays with reflections, refractions, shadows and misses
+        new WavefrontRayTracer(scene).traceRays(rays, actual, rays.length);
+        for (int r = 0; r < rays.length; ++r)
+            assertEquals(expected[r].getColor(), actual[r].getColor(), "Wrong color of ray " + r);
+
+        // =============== Boundary Values Tests ==================
+        // TC11: A single ray
+        assertEquals(expected[n * n / 2 + n / 2].getColor(),
+                new WavefrontRayTracer(scene).traceRay(rays[n * n / 2 + n / 2]).getColor(), "Wrong color of a single ray");
+
+        // TC12: A missed secondary ray - the background is attenuated as by the simple tracer
+        Scene transparent = new Scene("Test").setBackground(new Color(100, 100, 100));
+        transparent.geometries.add(new Sphere(1d, new Point(0, 0, -5)).setMaterial(new Material().setkT(0.5)));
+        assertTrue(new Color(50, 50, 50).isSimilar(
+                new WavefrontRayTracer(transparent).traceRay(new Ray(Point.ZERO, new Vector(0, 0, -1))), 1e-10),
+                "Wrong background of a missed secondary ray");
+    }
+}